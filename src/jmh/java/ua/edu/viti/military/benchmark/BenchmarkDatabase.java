@@ -0,0 +1,89 @@
+package ua.edu.viti.military.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ua.edu.viti.military.MilitarySupplyApplication;
+import ua.edu.viti.military.dto.SupplyCategoryCreateDTO;
+import ua.edu.viti.military.dto.WarehouseCreateDTO;
+import ua.edu.viti.military.service.StockAggregateService;
+import ua.edu.viti.military.service.SupplyCategoryService;
+import ua.edu.viti.military.service.SupplyItemSearchService;
+import ua.edu.viti.military.service.WarehouseService;
+
+/**
+ * Контекст застосунку без веб-сервера поверх окремої H2-бази,
+ * заповненої заданою кількістю матеріалів
+ */
+public final class BenchmarkDatabase {
+
+    public static final int CATEGORIES = 4;
+    public static final int WAREHOUSES = 4;
+
+    // allocationSize sequence-генератора SupplyItem
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    // Розподіл значень детермінований: фільтри бенчмарків відбирають ~1/320 рядків
+    private static final String SEED_SQL =
+            "INSERT INTO supply_items (id, name, batch_number, category_id, quantity, unit, expiration_date, " +
+            "hazard_class, storage_conditions, warehouse_id, status, version, created_at, updated_at) " +
+            "SELECT X, 'Item ' || X, 'BENCH-' || X, ? + MOD(X, 4), MOD(X * 7, 1000) + 1, 'шт', " +
+            "DATEADD(DAY, MOD(X, 730), CURRENT_DATE), " +
+            "CASE MOD(X / 4, 5) WHEN 0 THEN 'NON_HAZARDOUS' WHEN 1 THEN 'FLAMMABLE' " +
+            "WHEN 2 THEN 'EXPLOSIVE' WHEN 3 THEN 'TOXIC' ELSE 'CORROSIVE' END, " +
+            "NULL, ? + MOD(X / 20, 4), " +
+            "CASE MOD(X / 80, 4) WHEN 0 THEN 'IN_STOCK' WHEN 1 THEN 'ISSUED' " +
+            "WHEN 2 THEN 'EXPIRED' ELSE 'WRITTEN_OFF' END, " +
+            "0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+            "FROM SYSTEM_RANGE(1, ?)";
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Запустити контекст і заповнити базу rows матеріалами
+     */
+    public static ConfigurableApplicationContext start(int rows) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MilitarySupplyApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark_" + rows,
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "stock.reconciliation.cron=-",
+                        "logging.level.root=WARN",
+                        "logging.level.ua.edu.viti.military=WARN",
+                        "logging.level.org.hibernate=WARN"
+                )
+                .run();
+
+        seed(context, rows);
+        return context;
+    }
+
+    private static void seed(ConfigurableApplicationContext context, int rows) {
+        SupplyCategoryService categoryService = context.getBean(SupplyCategoryService.class);
+        WarehouseService warehouseService = context.getBean(WarehouseService.class);
+
+        for (int i = 1; i <= CATEGORIES; i++) {
+            categoryService.create(new SupplyCategoryCreateDTO("Категорія " + i, "CAT" + i, null, i % 2 == 0, null));
+        }
+        for (int i = 1; i <= WAREHOUSES; i++) {
+            warehouseService.create(new WarehouseCreateDTO("Склад " + i, "WH" + i, null, 10_000_000, 0, i % 2 == 0));
+        }
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Long firstCategoryId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM supply_categories", Long.class);
+        Long firstWarehouseId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM warehouses", Long.class);
+
+        // Вставка одним INSERT ... SELECT значно швидша за JDBC-батчі на мільйоні рядків
+        jdbcTemplate.update(SEED_SQL, firstCategoryId, firstWarehouseId, rows);
+        // Pooled-оптимізатор видає ID (hi - allocationSize, hi], тож hi має бути більшим за rows + allocationSize
+        jdbcTemplate.execute("ALTER SEQUENCE supply_items_seq RESTART WITH " + (rows + ID_ALLOCATION_SIZE + 1));
+        jdbcTemplate.execute("ANALYZE");
+
+        context.getBean(StockAggregateService.class).reconcile(true);
+        context.getBean(SupplyItemSearchService.class).rebuild();
+    }
+}
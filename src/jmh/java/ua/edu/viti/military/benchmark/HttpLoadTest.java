@@ -0,0 +1,107 @@
+package ua.edu.viti.military.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Простий closed-loop навантажувальний тест: concurrency клієнтів без пауз
+ * виконують GET-запити протягом заданого часу. Використовується для порівняння
+ * режимів platform / virtual threads на одному й тому ж endpoint-і.
+ * <p>
+ * Запуск (після mvn -Pjmh compile):
+ * java -cp target/classes ua.edu.viti.military.benchmark.HttpLoadTest URL [concurrency] [seconds]
+ */
+public final class HttpLoadTest {
+
+    private HttpLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: HttpLoadTest URL [concurrency=200] [seconds=30]");
+            System.exit(1);
+        }
+
+        URI uri = URI.create(args[0]);
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        // Прогрів JIT та пулу з'єднань
+        run(client, request, Math.min(concurrency, 20), Math.max(seconds / 5, 1));
+
+        Result result = run(client, request, concurrency, seconds);
+        result.print(uri, concurrency, seconds);
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int concurrency, int seconds)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<List<Long>> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong errors = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            executor.submit(() -> {
+                List<Long> local = new ArrayList<>();
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    local.add(System.nanoTime() - start);
+                }
+                latencies.add(local);
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 120L, TimeUnit.SECONDS);
+
+        List<Long> all = new ArrayList<>();
+        latencies.forEach(all::addAll);
+        Collections.sort(all);
+        return new Result(all, errors.get());
+    }
+
+    private record Result(List<Long> sortedLatencies, long errors) {
+
+        void print(URI uri, int concurrency, int seconds) {
+            int count = sortedLatencies.size();
+            System.out.printf("%s, concurrency %d, %d s%n", uri, concurrency, seconds);
+            System.out.printf("requests: %d, errors: %d, throughput: %.1f req/s%n",
+                    count, errors, count / (double) seconds);
+            System.out.printf("latency ms: p50 %.1f, p90 %.1f, p99 %.1f, max %.1f%n",
+                    percentile(0.50), percentile(0.90), percentile(0.99), percentile(1.0));
+        }
+
+        private double percentile(double p) {
+            if (sortedLatencies.isEmpty()) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sortedLatencies.size()) - 1;
+            return sortedLatencies.get(Math.max(index, 0)) / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package ua.edu.viti.military.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ua.edu.viti.military.dto.SupplyItemSearchResultDTO;
+import ua.edu.viti.military.service.SupplyItemSearchService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Повнотекстовий пошук на базі з 10k/100k/1M матеріалів (назви "Item N", партії "BENCH-N").
+ * Включає читання знайдених матеріалів з бази
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx3g"})
+public class SupplyItemSearchBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private SupplyItemSearchService searchService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(rows);
+        searchService = context.getBean(SupplyItemSearchService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SupplyItemSearchResultDTO wordPrefix() {
+        return searchService.search("ite 424", false, 20);
+    }
+
+    @Benchmark
+    public SupplyItemSearchResultDTO batchPrefix() {
+        return searchService.search("BENCH-42", false, 20);
+    }
+
+    @Benchmark
+    public SupplyItemSearchResultDTO fuzzy() {
+        return searchService.search("itme 4242", true, 20);
+    }
+}
@@ -0,0 +1,100 @@
+package ua.edu.viti.military.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ua.edu.viti.military.dto.SupplyItemCreateDTO;
+import ua.edu.viti.military.dto.SupplyItemFilterDTO;
+import ua.edu.viti.military.dto.SupplyItemResponseDTO;
+import ua.edu.viti.military.entity.HazardClass;
+import ua.edu.viti.military.entity.ItemStatus;
+import ua.edu.viti.military.service.SupplyItemService;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Гарячі шляхи SupplyItemService на базі з 10k/100k/1M матеріалів.
+ * Throughput та SampleTime (перцентилі затримки); алокації - через -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx3g"})
+public class SupplyItemServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private SupplyItemService itemService;
+    private SupplyItemFilterDTO filter;
+    private Long categoryId;
+    private Long warehouseId;
+
+    private final AtomicLong batchSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(rows);
+        itemService = context.getBean(SupplyItemService.class);
+
+        List<SupplyItemResponseDTO> sample = itemService.getPage(new SupplyItemFilterDTO(), null, 1).getItems();
+        categoryId = sample.get(0).getCategory().getId();
+        warehouseId = sample.get(0).getWarehouseId();
+
+        // Комбінація всіх чотирьох умов відбирає rows / 320 матеріалів
+        filter = new SupplyItemFilterDTO();
+        filter.setStatus(sample.get(0).getStatus());
+        filter.setCategoryId(categoryId);
+        filter.setWarehouseId(warehouseId);
+        filter.setHazardClass(sample.get(0).getHazardClass());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SupplyItemResponseDTO> getAllFiltered() {
+        return itemService.getAll(filter);
+    }
+
+    @Benchmark
+    public List<SupplyItemResponseDTO> findExpiringSoon() {
+        return itemService.findExpiringSoon(30, 0, 50);
+    }
+
+    @Benchmark
+    public SupplyItemResponseDTO create() {
+        SupplyItemCreateDTO dto = new SupplyItemCreateDTO(
+                "Benchmark item",
+                "JMH-" + batchSequence.incrementAndGet(),
+                categoryId,
+                100,
+                "шт",
+                LocalDate.now().plusYears(1),
+                HazardClass.NON_HAZARDOUS,
+                null,
+                warehouseId,
+                ItemStatus.IN_STOCK
+        );
+        return itemService.create(dto);
+    }
+}
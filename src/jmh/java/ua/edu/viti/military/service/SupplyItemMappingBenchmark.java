@@ -0,0 +1,103 @@
+package ua.edu.viti.military.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+import ua.edu.viti.military.dto.SupplyItemResponseDTO;
+import ua.edu.viti.military.entity.HazardClass;
+import ua.edu.viti.military.entity.ItemStatus;
+import ua.edu.viti.military.entity.SupplyCategory;
+import ua.edu.viti.military.entity.SupplyItem;
+import ua.edu.viti.military.entity.Warehouse;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Маппінг SupplyItem -> SupplyItemResponseDTO та JSON-серіалізація відповіді (без бази)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SupplyItemMappingBenchmark {
+
+    // Розмір списку відповідає максимальній сторінці API
+    @Param({"1", "500"})
+    private int size;
+
+    private List<SupplyItem> entities;
+    private List<SupplyItemResponseDTO> dtos;
+    private ObjectWriter writer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+
+        SupplyCategory category = new SupplyCategory();
+        category.setId(1L);
+        category.setName("Боєприпаси");
+        category.setCode("AMMO");
+        category.setDescription("Стрілецькі боєприпаси");
+        category.setRequiresColdStorage(false);
+        category.setCreatedAt(now);
+        category.setUpdatedAt(now);
+
+        Warehouse warehouse = new Warehouse();
+        warehouse.setId(1L);
+        warehouse.setName("Склад 1");
+
+        entities = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            SupplyItem item = new SupplyItem();
+            item.setId((long) i);
+            item.setName("Item " + i);
+            item.setBatchNumber("B-" + i);
+            item.setCategory(category);
+            item.setQuantity(i * 10);
+            item.setUnit("шт");
+            item.setExpirationDate(LocalDate.now().plusDays(i));
+            item.setHazardClass(HazardClass.FLAMMABLE);
+            item.setStorageConditions("Сухе приміщення");
+            item.setWarehouse(warehouse);
+            item.setStatus(ItemStatus.IN_STOCK);
+            item.setCreatedAt(now);
+            item.setUpdatedAt(now);
+            entities.add(item);
+        }
+
+        dtos = entities.stream().map(SupplyItemService::toResponseDTO).toList();
+        writer = JsonMapper.builder().build().writerFor(SupplyItemResponseDTO.class);
+    }
+
+    @Benchmark
+    public void toResponseDTO(Blackhole blackhole) {
+        for (SupplyItem entity : entities) {
+            blackhole.consume(SupplyItemService.toResponseDTO(entity));
+        }
+    }
+
+    @Benchmark
+    public void serializeToJson(Blackhole blackhole) {
+        for (SupplyItemResponseDTO dto : dtos) {
+            blackhole.consume(writer.writeValueAsBytes(dto));
+        }
+    }
+}
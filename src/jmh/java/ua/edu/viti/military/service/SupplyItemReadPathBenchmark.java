@@ -0,0 +1,119 @@
+package ua.edu.viti.military.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.edu.viti.military.benchmark.BenchmarkDatabase;
+import ua.edu.viti.military.dto.SupplyItemResponseDTO;
+import ua.edu.viti.military.entity.SupplyItem;
+import ua.edu.viti.military.repository.SupplyItemRepository;
+import ua.edu.viti.military.repository.SupplyItemSpecifications;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Читання сторінки матеріалів на заповненій базі: проєкція одразу в SupplyItemResponseDTO
+ * проти завантаження сутностей (JOIN FETCH категорії та складу) з маппінгом через toResponseDTO -
+ * у read-write транзакції (знімки для dirty-checking) та read-only.
+ * Сторінки читаються по ID з курсором, що зсувається, тож усі варіанти читають ті самі рядки.
+ * Алокації на операцію - через -prof gc (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx3g"})
+public class SupplyItemReadPathBenchmark {
+
+    private static final String ENTITY_PAGE_QUERY = "SELECT si FROM SupplyItem si " +
+            "JOIN FETCH si.category " +
+            "LEFT JOIN FETCH si.warehouse " +
+            "WHERE si.id > :afterId " +
+            "ORDER BY si.id";
+
+    @Param({"100000"})
+    private int rows;
+
+    // Розмір сторінки: типовий і максимальний для API
+    @Param({"50", "500"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private SupplyItemRepository itemRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readWriteTemplate;
+    private TransactionTemplate readOnlyTemplate;
+    private long afterId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(rows);
+        itemRepository = context.getBean(SupplyItemRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWriteTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SupplyItemResponseDTO> projection() {
+        long cursor = nextCursor();
+        return readOnlyTemplate.execute(status -> itemRepository.findResponses(
+                SupplyItemSpecifications.idGreaterThan(cursor), size));
+    }
+
+    @Benchmark
+    public List<SupplyItemResponseDTO> entityMapping() {
+        long cursor = nextCursor();
+        return readWriteTemplate.execute(status -> loadAndMap(cursor));
+    }
+
+    @Benchmark
+    public List<SupplyItemResponseDTO> entityMappingReadOnly() {
+        long cursor = nextCursor();
+        return readOnlyTemplate.execute(status -> loadAndMap(cursor));
+    }
+
+    private List<SupplyItemResponseDTO> loadAndMap(long cursor) {
+        return entityManager.createQuery(ENTITY_PAGE_QUERY, SupplyItem.class)
+                .setParameter("afterId", cursor)
+                .setMaxResults(size)
+                .getResultList()
+                .stream()
+                .map(SupplyItemService::toResponseDTO)
+                .toList();
+    }
+
+    // Курсор проходить усю таблицю по колу
+    private long nextCursor() {
+        long cursor = afterId;
+        afterId = cursor + size >= rows ? 0 : cursor + size;
+        return cursor;
+    }
+}
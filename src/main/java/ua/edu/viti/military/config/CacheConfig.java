@@ -0,0 +1,64 @@
+package ua.edu.viti.military.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.cache.autoconfigure.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Кеш довідкових даних (категорії, склади).
+ * Розмір, TTL та збір статистики задаються через spring.cache.caffeine.spec.
+ * Кеші транзакційні: put та evict у транзакції виконуються після її коміту, тож паралельне
+ * читання не закешує рядок, що ще не закомічений або от-от зміниться
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORY_CODES = "categoryCodes";
+    public static final String CATEGORY_CODE_EXISTS = "categoryCodeExists";
+    public static final String CATEGORY_LIST = "categoryList";
+
+    public static final String WAREHOUSES = "warehouses";
+    public static final String WAREHOUSE_CODES = "warehouseCodes";
+    public static final String WAREHOUSE_CODE_EXISTS = "warehouseCodeExists";
+
+    public static final String STATISTICS = "statistics";
+
+    /**
+     * Кеш статистики з власним коротким TTL (0 - вимкнено)
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> statisticsCacheCustomizer(
+            @Value("${statistics.cache.ttl:5s}") Duration ttl) {
+        return cacheManager -> cacheManager.registerCustomCache(STATISTICS, Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(1)
+                .recordStats()
+                .build());
+    }
+
+    /**
+     * Обгортка CaffeineCacheManager, створеного автоконфігурацією, у TransactionAwareCacheManagerProxy
+     * (CaffeineCacheManager сам не підтримує transactionAware)
+     */
+    @Bean
+    public static BeanPostProcessor transactionAwareCacheManagerPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof CaffeineCacheManager cacheManager
+                        ? new TransactionAwareCacheManagerProxy(cacheManager)
+                        : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package ua.edu.viti.military.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.dataformat.csv.CsvMapper;
+import tools.jackson.dataformat.csv.CsvReadFeature;
+
+@Configuration
+public class CsvConfig {
+
+    @Bean
+    public CsvMapper csvMapper() {
+        return CsvMapper.builder()
+                .enable(CsvReadFeature.TRIM_SPACES)
+                .enable(CsvReadFeature.SKIP_EMPTY_LINES)
+                .enable(CsvReadFeature.EMPTY_STRING_AS_NULL)
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package ua.edu.viti.military.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Профіль virtual-threads: попередження, якщо JDK не підтримує віртуальні потоки
+ */
+@Configuration
+@Profile("virtual-threads")
+@Slf4j
+public class VirtualThreadsConfig {
+
+    private static final int MIN_JAVA_VERSION = 21;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkJavaVersion() {
+        int javaVersion = Runtime.version().feature();
+
+        if (javaVersion < MIN_JAVA_VERSION) {
+            // Spring Boot ігнорує spring.threads.virtual.enabled на старших JDK
+            log.warn("Profile 'virtual-threads' is active, but Java {} does not support virtual threads " +
+                    "(requires {}+). Falling back to platform threads", javaVersion, MIN_JAVA_VERSION);
+        } else {
+            log.info("Request handling and @Scheduled tasks run on virtual threads (Java {})",
+                    javaVersion);
+        }
+    }
+}
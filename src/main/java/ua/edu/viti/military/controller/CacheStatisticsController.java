@@ -0,0 +1,35 @@
+package ua.edu.viti.military.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ua.edu.viti.military.dto.CacheStatisticsDTO;
+import ua.edu.viti.military.service.CacheStatisticsService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache-statistics")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Cache Statistics", description = "API для перегляду статистики кешу довідкових даних")
+public class CacheStatisticsController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    @GetMapping
+    @Operation(
+            summary = "Статистика кешів",
+            description = "Повертає розмір, кількість влучань, промахів та витіснень для кожного кешу"
+    )
+    public ResponseEntity<List<CacheStatisticsDTO>> getAll() {
+        log.info("REST request to get cache statistics");
+
+        return ResponseEntity.ok(cacheStatisticsService.getAll());
+    }
+}
@@ -0,0 +1,52 @@
+package ua.edu.viti.military.controller;
+
+import org.springframework.web.context.request.WebRequest;
+import ua.edu.viti.military.dto.ResourceVersionDTO;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Умовні GET-запити: ETag і Last-Modified з версії ресурсу.
+ * Версія читається дешевше за саму відповідь, тож при збігу 304 віддається без побудови та серіалізації тіла.
+ */
+final class ConditionalGet {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * true - клієнт має актуальну версію, відповідь 304 уже підготовлена (контролер повертає null);
+     * інакше до відповіді додано ETag і Last-Modified
+     */
+    static boolean notModified(WebRequest request, ResourceVersionDTO version) {
+        LocalDateTime lastModified = version.getLastModified();
+
+        String eTag = "\"" + Long.toHexString(version.getCount())
+                + "-" + Long.toHexString(version.getVersionSum())
+                + "-" + Long.toHexString(lastModified != null ? ChronoUnit.MICROS.between(EPOCH, lastModified) : 0)
+                + "\"";
+        long lastModifiedMillis = lastModified != null
+                ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+
+        return request.checkNotModified(eTag, lastModifiedMillis);
+    }
+
+    /**
+     * Версія вже прочитаної (кешованої) колекції: кількість і остання зміна
+     */
+    static <T> ResourceVersionDTO versionOf(Collection<T> items, Function<T, LocalDateTime> updatedAt) {
+        return new ResourceVersionDTO(items.size(), 0, items.stream()
+                .map(updatedAt)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null));
+    }
+}
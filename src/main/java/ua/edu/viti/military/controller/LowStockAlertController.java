@@ -0,0 +1,74 @@
+package ua.edu.viti.military.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ua.edu.viti.military.dto.CursorPageDTO;
+import ua.edu.viti.military.dto.LowStockAlertDTO;
+import ua.edu.viti.military.service.LowStockAlertService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/low-stock-alerts")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Low Stock Alerts", description = "API для сповіщень про дефіцит матеріалів")
+public class LowStockAlertController {
+
+    private final LowStockAlertService alertService;
+
+    @GetMapping
+    @Operation(
+            summary = "Активні сповіщення про дефіцит",
+            description = "Повертає матеріали на складі з кількістю нижче порогу дозамовлення їх категорії"
+    )
+    public ResponseEntity<List<LowStockAlertDTO>> getActive(
+            @Parameter(description = "ID категорії")
+            @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "ID складу")
+            @RequestParam(required = false) Long warehouseId) {
+
+        log.info("REST request to get active low stock alerts - categoryId: {}, warehouseId: {}",
+                categoryId, warehouseId);
+
+        return ResponseEntity.ok(alertService.getActive(categoryId, warehouseId));
+    }
+
+    @GetMapping("/history")
+    @Operation(
+            summary = "Останні події сповіщень",
+            description = "Повертає події RAISED / RESOLVED з ID більшим за afterId. " +
+                    "Для наступної сторінки передайте nextCursor як afterId"
+    )
+    public ResponseEntity<CursorPageDTO<LowStockAlertDTO>> getHistory(
+            @Parameter(description = "ID останньої отриманої події")
+            @RequestParam(required = false) Long afterId,
+            @Parameter(description = "Розмір сторінки (від 1 до 500)")
+            @RequestParam(defaultValue = "100") int size) {
+
+        log.info("REST request to get low stock alert history after ID: {}, size: {}", afterId, size);
+
+        return ResponseEntity.ok(alertService.getHistory(afterId, size));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Потік сповіщень про дефіцит (SSE)",
+            description = "Server-Sent Events: кожна подія RAISED / RESOLVED надсилається одразу після коміту зміни"
+    )
+    public SseEmitter stream() {
+        log.info("REST request to subscribe to low stock alerts");
+
+        return alertService.subscribe();
+    }
+}
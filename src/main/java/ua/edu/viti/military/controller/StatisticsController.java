@@ -0,0 +1,34 @@
+package ua.edu.viti.military.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ua.edu.viti.military.dto.InventoryStatisticsDTO;
+import ua.edu.viti.military.service.StatisticsService;
+
+@RestController
+@RequestMapping("/api/statistics")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Statistics", description = "API для зведеної статистики по матеріалах")
+public class StatisticsController {
+
+    private final StatisticsService statisticsService;
+
+    @GetMapping
+    @Operation(
+            summary = "Зведена статистика",
+            description = "Повертає кількість партій та сумарну кількість матеріалів у розрізі статусу, " +
+                    "класу небезпеки, категорії та складу. Результат кешується на кілька секунд"
+    )
+    public ResponseEntity<InventoryStatisticsDTO> getInventoryStatistics() {
+        log.info("REST request to get inventory statistics");
+
+        return ResponseEntity.ok(statisticsService.getInventoryStatistics());
+    }
+}
@@ -0,0 +1,61 @@
+package ua.edu.viti.military.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ua.edu.viti.military.dto.StockAggregateDTO;
+import ua.edu.viti.military.dto.StockReconciliationDTO;
+import ua.edu.viti.military.service.StockAggregateService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/stock-aggregates")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Stock Aggregates", description = "API для перегляду залишків по складах, категоріях та статусах")
+public class StockAggregateController {
+
+    private final StockAggregateService aggregateService;
+
+    @GetMapping
+    @Operation(
+            summary = "Отримати залишки",
+            description = "Повертає загальну кількість та кількість партій у розрізі склад / категорія / статус " +
+                    "без сканування таблиці матеріалів"
+    )
+    public ResponseEntity<List<StockAggregateDTO>> getAll(
+            @Parameter(description = "Фільтр по ID складу")
+            @RequestParam(required = false) Long warehouseId,
+            @Parameter(description = "Фільтр по ID категорії")
+            @RequestParam(required = false) Long categoryId) {
+
+        log.info("REST request to get stock aggregates - warehouseId: {}, categoryId: {}",
+                warehouseId, categoryId);
+
+        return ResponseEntity.ok(aggregateService.getAll(warehouseId, categoryId));
+    }
+
+    @PostMapping("/reconcile")
+    @Operation(
+            summary = "Звірити залишки",
+            description = "Порівнює агрегати з повним перерахунком по матеріалах. " +
+                    "З repair=true перебудовує агрегати, якщо знайдено розбіжності"
+    )
+    public ResponseEntity<StockReconciliationDTO> reconcile(
+            @Parameter(description = "Перебудувати агрегати при розбіжностях")
+            @RequestParam(defaultValue = "false") boolean repair) {
+
+        log.info("REST request to reconcile stock aggregates (repair: {})", repair);
+
+        return ResponseEntity.ok(aggregateService.reconcile(repair));
+    }
+}
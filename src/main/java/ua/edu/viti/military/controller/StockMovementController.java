@@ -0,0 +1,81 @@
+package ua.edu.viti.military.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ua.edu.viti.military.dto.CursorPageDTO;
+import ua.edu.viti.military.dto.ItemBalanceDTO;
+import ua.edu.viti.military.dto.StockMovementDTO;
+import ua.edu.viti.military.dto.StockSnapshotRunDTO;
+import ua.edu.viti.military.service.StockLedgerService;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/stock-movements")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Stock Movements", description = "API для журналу руху матеріалів та залишків на момент часу")
+public class StockMovementController {
+
+    private final StockLedgerService ledgerService;
+
+    @GetMapping
+    @Operation(
+            summary = "Журнал руху матеріалу",
+            description = "Повертає надходження, видачі, переміщення, списання та коригування матеріалу " +
+                    "сторінками (keyset-пагінація по ID). Для наступної сторінки передайте nextCursor як afterId"
+    )
+    public ResponseEntity<CursorPageDTO<StockMovementDTO>> getMovements(
+            @Parameter(description = "ID матеріалу")
+            @RequestParam Long itemId,
+            @Parameter(description = "ID останнього запису попередньої сторінки")
+            @RequestParam(required = false) Long afterId,
+            @Parameter(description = "Розмір сторінки (від 1 до 500)")
+            @RequestParam(defaultValue = "50") int size) {
+
+        log.info("REST request to get stock movements for item ID: {} after ID: {}, size: {}",
+                itemId, afterId, size);
+
+        return ResponseEntity.ok(ledgerService.getMovements(itemId, afterId, size));
+    }
+
+    @GetMapping("/balance")
+    @Operation(
+            summary = "Залишок матеріалу на момент часу",
+            description = "Повертає залишок у наявності (для списаних матеріалів - 0) на вказаний момент " +
+                    "або на поточний, якщо момент не вказано. Рахується від найближчого знімка, " +
+                    "без перегляду всієї історії"
+    )
+    public ResponseEntity<ItemBalanceDTO> getBalance(
+            @Parameter(description = "ID матеріалу")
+            @RequestParam Long itemId,
+            @Parameter(description = "Момент часу (ISO, наприклад 2025-01-31T12:00:00)")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+
+        log.info("REST request to get balance of item ID: {} at {}", itemId, at);
+
+        return ResponseEntity.ok(ledgerService.getBalance(itemId, at));
+    }
+
+    @PostMapping("/snapshots")
+    @Operation(
+            summary = "Зробити знімок залишків",
+            description = "Позапланово записує знімки залишків для матеріалів, що мали рух після попереднього знімка"
+    )
+    public ResponseEntity<StockSnapshotRunDTO> takeSnapshots() {
+        log.info("REST request to take stock balance snapshots");
+
+        return ResponseEntity.ok(ledgerService.takeSnapshots());
+    }
+}
@@ -9,6 +9,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ua.edu.viti.military.dto.ReorderThresholdDTO;
 import ua.edu.viti.military.dto.SupplyCategoryCreateDTO;
 import ua.edu.viti.military.dto.SupplyCategoryResponseDTO;
 import ua.edu.viti.military.service.SupplyCategoryService;
@@ -44,32 +46,62 @@ public class SupplyCategoryController {
     @GetMapping("/{id}")
     @Operation(
             summary = "Отримати категорію по ID",
-            description = "Повертає деталі категорії постачання по її унікальному ідентифікатору"
+            description = "Повертає деталі категорії постачання по її унікальному ідентифікатору. " +
+                    "Підтримує умовний GET (If-None-Match / If-Modified-Since -> 304)"
     )
     public ResponseEntity<SupplyCategoryResponseDTO> getById(
             @Parameter(description = "ID категорії")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest request) {
 
         log.info("REST request to get supply category with ID: {}", id);
 
         SupplyCategoryResponseDTO category = categoryService.getById(id);
 
+        if (ConditionalGet.notModified(request,
+                ConditionalGet.versionOf(List.of(category), SupplyCategoryResponseDTO::getUpdatedAt))) {
+            return null;
+        }
+
         return ResponseEntity.ok(category);
     }
 
     @GetMapping
     @Operation(
             summary = "Отримати всі категорії",
-            description = "Повертає список всіх категорій постачання"
+            description = "Повертає список всіх категорій постачання. " +
+                    "Підтримує умовний GET (If-None-Match / If-Modified-Since -> 304)"
     )
-    public ResponseEntity<List<SupplyCategoryResponseDTO>> getAll() {
+    public ResponseEntity<List<SupplyCategoryResponseDTO>> getAll(WebRequest request) {
         log.info("REST request to get all supply categories");
 
         List<SupplyCategoryResponseDTO> categories = categoryService.getAll();
 
+        if (ConditionalGet.notModified(request,
+                ConditionalGet.versionOf(categories, SupplyCategoryResponseDTO::getUpdatedAt))) {
+            return null;
+        }
+
         return ResponseEntity.ok(categories);
     }
 
+    @PutMapping("/{id}/reorder-threshold")
+    @Operation(
+            summary = "Змінити поріг дозамовлення категорії",
+            description = "Матеріали категорії на складі з кількістю нижче порогу потрапляють до сповіщень " +
+                    "про дефіцит (/api/low-stock-alerts). null вимикає контроль залишків для категорії"
+    )
+    public ResponseEntity<SupplyCategoryResponseDTO> updateReorderThreshold(
+            @Parameter(description = "ID категорії")
+            @PathVariable Long id,
+            @Valid @RequestBody ReorderThresholdDTO dto) {
+
+        log.info("REST request to set reorder threshold of supply category with ID {} to {}",
+                id, dto.getReorderThreshold());
+
+        return ResponseEntity.ok(categoryService.updateReorderThreshold(id, dto.getReorderThreshold()));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(
             summary = "Видалити категорію",
@@ -0,0 +1,96 @@
+package ua.edu.viti.military.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ua.edu.viti.military.dto.ArchiveRunResultDTO;
+import ua.edu.viti.military.dto.ArchivedSupplyItemDTO;
+import ua.edu.viti.military.dto.CursorPageDTO;
+import ua.edu.viti.military.entity.ItemStatus;
+import ua.edu.viti.military.service.SupplyItemArchiveService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/archive/supply-items")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Supply Item Archive", description = "API для архіву виданих та списаних матеріалів")
+public class SupplyItemArchiveController {
+
+    private final SupplyItemArchiveService archiveService;
+
+    @GetMapping
+    @Operation(
+            summary = "Сторінка архіву матеріалів",
+            description = "Повертає архівні записи з фільтрами сторінками (keyset-пагінація по ID). " +
+                    "Для наступної сторінки передайте nextCursor як afterId"
+    )
+    public ResponseEntity<CursorPageDTO<ArchivedSupplyItemDTO>> getPage(
+            @Parameter(description = "Статус на момент архівації")
+            @RequestParam(required = false) ItemStatus status,
+            @Parameter(description = "ID категорії")
+            @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "ID складу")
+            @RequestParam(required = false) Long warehouseId,
+            @Parameter(description = "Номер партії")
+            @RequestParam(required = false) String batchNumber,
+            @Parameter(description = "Архівовано не раніше (ISO, наприклад 2025-01-01T00:00:00)")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime archivedFrom,
+            @Parameter(description = "Архівовано раніше (ISO)")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime archivedTo,
+            @Parameter(description = "ID останнього запису попередньої сторінки")
+            @RequestParam(required = false) Long afterId,
+            @Parameter(description = "Розмір сторінки (від 1 до 500)")
+            @RequestParam(defaultValue = "100") int size) {
+
+        log.info("REST request to get archived supply items after ID: {}, size: {}", afterId, size);
+
+        return ResponseEntity.ok(archiveService.getPage(status, categoryId, warehouseId, batchNumber,
+                archivedFrom, archivedTo, afterId, size));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(
+            summary = "Архівний запис по ID",
+            description = "Повертає архівну копію матеріалу по ID матеріалу"
+    )
+    public ResponseEntity<ArchivedSupplyItemDTO> getById(
+            @Parameter(description = "ID матеріалу")
+            @PathVariable Long id) {
+
+        log.info("REST request to get archived supply item with ID: {}", id);
+
+        return ResponseEntity.ok(archiveService.getById(id));
+    }
+
+    @PostMapping("/run")
+    @Operation(
+            summary = "Перенести матеріали в архів",
+            description = "Позапланово переносить в архів видані та списані матеріали, що не змінювались " +
+                    "задану кількість днів (за замовчуванням supply.archive.min-age). Якщо перенесення " +
+                    "вже виконується (на цьому чи іншому вузлі), повертає skipped = true"
+    )
+    public ResponseEntity<ArchiveRunResultDTO> archive(
+            @Parameter(description = "Мінімальний вік записів у днях")
+            @RequestParam(required = false) Integer olderThanDays) {
+
+        log.info("REST request to archive supply items older than {} days", olderThanDays);
+
+        return ResponseEntity.ok(archiveService.archive(
+                olderThanDays != null ? Duration.ofDays(olderThanDays) : null));
+    }
+}
@@ -6,15 +6,40 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
+import ua.edu.viti.military.dto.BulkImportResultDTO;
+import ua.edu.viti.military.dto.BulkUpdateResultDTO;
+import ua.edu.viti.military.dto.CursorPageDTO;
+import ua.edu.viti.military.dto.ExpirationSweepResultDTO;
+import ua.edu.viti.military.dto.QuantityAdjustmentDTO;
+import ua.edu.viti.military.dto.ResourceVersionDTO;
+import ua.edu.viti.military.dto.SupplyItemBulkUpdateDTO;
 import ua.edu.viti.military.dto.SupplyItemCreateDTO;
+import ua.edu.viti.military.dto.SupplyItemFilterDTO;
+import ua.edu.viti.military.dto.SupplyItemPurgeStatusDTO;
 import ua.edu.viti.military.dto.SupplyItemResponseDTO;
+import ua.edu.viti.military.dto.SupplyItemSearchResultDTO;
+import ua.edu.viti.military.dto.SupplyItemTransferDTO;
+import ua.edu.viti.military.dto.SupplyItemTransferResultDTO;
 import ua.edu.viti.military.dto.SupplyItemUpdateDTO;
-import ua.edu.viti.military.entity.ItemStatus;
+import ua.edu.viti.military.service.ExpirationSweepService;
+import ua.edu.viti.military.service.SupplyItemBulkUpdateService;
+import ua.edu.viti.military.service.SupplyItemChangeFeedService;
+import ua.edu.viti.military.service.SupplyItemPurgeService;
+import ua.edu.viti.military.service.SupplyItemSearchService;
 import ua.edu.viti.military.service.SupplyItemService;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -25,6 +50,12 @@ import java.util.List;
 public class SupplyItemController {
 
     private final SupplyItemService itemService;
+    private final ExpirationSweepService expirationSweepService;
+    private final SupplyItemBulkUpdateService bulkUpdateService;
+    private final SupplyItemPurgeService purgeService;
+    private final SupplyItemChangeFeedService changeFeedService;
+    private final SupplyItemSearchService searchService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @Operation(
@@ -43,17 +74,61 @@ public class SupplyItemController {
                 .body(created);
     }
 
+    @PostMapping("/bulk")
+    @Operation(
+            summary = "Масово створити матеріали",
+            description = "Створює до 5000 матеріалів за один запит. Некоректні рядки не зупиняють імпорт: " +
+                    "вони повертаються у звіті з номером рядка та причиною помилки"
+    )
+    public ResponseEntity<BulkImportResultDTO> bulkCreate(
+            @RequestBody List<SupplyItemCreateDTO> dtos) {
+
+        log.info("REST request to bulk create {} supply items", dtos.size());
+
+        BulkImportResultDTO result = itemService.bulkCreate(dtos);
+
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/bulk-update")
+    @Operation(
+            summary = "Масово змінити статус та/або склад матеріалів",
+            description = "Змінює статус (наприклад, WRITTEN_OFF після перевірки) та/або склад усіх матеріалів, " +
+                    "що відповідають фільтру (хоча б одна умова обов'язкова). Якщо статус хоча б одного " +
+                    "матеріалу не можна змінити на новий (наприклад, WRITTEN_OFF або ISSUED на IN_STOCK), " +
+                    "повертає 400 і нічого не змінює. Виконується порціями без завантаження окремих матеріалів; " +
+                    "якщо порція не виконалась (наприклад, на складі не вистачає місця), оновлення зупиняється, " +
+                    "а результат містить кількість уже змінених рядків і причину в полі error"
+    )
+    public ResponseEntity<BulkUpdateResultDTO> bulkUpdate(
+            @Valid @RequestBody SupplyItemBulkUpdateDTO dto) {
+
+        log.info("REST request to bulk update supply items: {}", dto);
+
+        BulkUpdateResultDTO result = bulkUpdateService.update(dto);
+
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Отримати матеріал по ID",
-            description = "Повертає деталі матеріалу по його унікальному ідентифікатору"
+            description = "Повертає деталі матеріалу по його унікальному ідентифікатору. " +
+                    "Підтримує умовний GET: ETag / Last-Modified рахуються з версії матеріалу, " +
+                    "його категорії та складу, і при збігу повертається 304 без тіла"
     )
     public ResponseEntity<SupplyItemResponseDTO> getById(
             @Parameter(description = "ID матеріалу")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest request) {
 
         log.info("REST request to get supply item with ID: {}", id);
 
+        ResourceVersionDTO version = itemService.getVersion(id);
+        if (version.getCount() > 0 && ConditionalGet.notModified(request, version)) {
+            return null;
+        }
+
         SupplyItemResponseDTO item = itemService.getById(id);
 
         return ResponseEntity.ok(item);
@@ -62,26 +137,114 @@ public class SupplyItemController {
     @GetMapping
     @Operation(
             summary = "Отримати всі матеріали",
-            description = "Повертає список всіх матеріалів з можливістю фільтрації по статусу та категорії"
+            description = "Повертає список всіх матеріалів з можливістю комбінованої фільтрації " +
+                    "по статусу, категорії, складу, класу небезпеки, терміну придатності та кількості. " +
+                    "Підтримує умовний GET: ETag / Last-Modified рахуються агрегатним запитом " +
+                    "(кількість, сума версій, остання зміна), і при збігу повертається 304 без тіла"
     )
     public ResponseEntity<List<SupplyItemResponseDTO>> getAll(
-            @Parameter(description = "Фільтр по статусу матеріалу")
-            @RequestParam(required = false) ItemStatus status,
-            @Parameter(description = "Фільтр по ID категорії")
-            @RequestParam(required = false) Long categoryId) {
+            @ParameterObject SupplyItemFilterDTO filter,
+            WebRequest request) {
 
-        log.info("REST request to get all supply items with filters - status: {}, categoryId: {}",
-                status, categoryId);
+        log.info("REST request to get all supply items with filter: {}", filter);
 
-        List<SupplyItemResponseDTO> items = itemService.getAll(status, categoryId);
+        if (ConditionalGet.notModified(request, itemService.getVersion(filter))) {
+            return null;
+        }
+
+        List<SupplyItemResponseDTO> items = itemService.getAll(filter);
 
         return ResponseEntity.ok(items);
     }
 
+    @GetMapping("/page")
+    @Operation(
+            summary = "Отримати сторінку матеріалів",
+            description = "Повертає сторінку матеріалів, впорядкованих по ID (keyset-пагінація). " +
+                    "Для наступної сторінки передайте nextCursor як afterId"
+    )
+    public ResponseEntity<CursorPageDTO<SupplyItemResponseDTO>> getPage(
+            @ParameterObject SupplyItemFilterDTO filter,
+            @Parameter(description = "ID останнього матеріалу попередньої сторінки")
+            @RequestParam(required = false) Long afterId,
+            @Parameter(description = "Розмір сторінки (від 1 до 500)")
+            @RequestParam(defaultValue = "50") int size) {
+
+        log.info("REST request to get supply items page after ID: {}, size: {}, filter: {}",
+                afterId, size, filter);
+
+        CursorPageDTO<SupplyItemResponseDTO> page = itemService.getPage(filter, afterId, size);
+
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/search")
+    @Operation(
+            summary = "Повнотекстовий пошук матеріалів",
+            description = "Шукає по назві, номеру партії та умовам зберігання: кожне слово запиту " +
+                    "може бути початком слова (\"гран\" знайде \"Граната\"), запит цілком - початком " +
+                    "номера партії. З fuzzy = true допускаються опечатки. Результати впорядковані за релевантністю"
+    )
+    public ResponseEntity<SupplyItemSearchResultDTO> search(
+            @Parameter(description = "Пошуковий запит", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Допускати опечатки")
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @Parameter(description = "Кількість результатів (від 1 до 100)")
+            @RequestParam(defaultValue = "20") int limit) {
+
+        log.info("REST request to search supply items: '{}' (fuzzy: {}, limit: {})", q, fuzzy, limit);
+
+        return ResponseEntity.ok(searchService.search(q, fuzzy, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Потокове отримання всіх матеріалів",
+            description = "Повертає всі матеріали у форматі NDJSON (один JSON-об'єкт на рядок) " +
+                    "без буферизації всього списку в пам'яті"
+    )
+    public ResponseEntity<StreamingResponseBody> stream() {
+        log.info("REST request to stream all supply items");
+
+        StreamingResponseBody body = outputStream -> itemService.streamAll(item -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(item));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Потік змін матеріалів (SSE)",
+            description = "Server-Sent Events CREATED / UPDATED / DELETED після коміту кожної зміни. " +
+                    "Для продовження після розриву передайте ID останньої події в заголовку Last-Event-ID " +
+                    "(EventSource робить це автоматично) або в параметрі afterId. Подія RESET означає, " +
+                    "що пропущені зміни вже недоступні: перечитайте список і продовжуйте з її ID"
+    )
+    public SseEmitter changes(
+            @Parameter(description = "ID останньої отриманої події (заголовок EventSource)")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @Parameter(description = "ID останньої отриманої події")
+            @RequestParam(required = false) Long afterId) {
+
+        Long cursor = lastEventId != null ? lastEventId : afterId;
+        log.info("REST request to subscribe to supply item changes after event ID: {}", cursor);
+
+        return changeFeedService.subscribe(cursor);
+    }
+
     @PutMapping("/{id}")
     @Operation(
             summary = "Оновити матеріал",
-            description = "Оновлює дані про матеріал"
+            description = "Оновлює дані про матеріал. Якщо передано version і вона застаріла, повертає 409"
     )
     public ResponseEntity<SupplyItemResponseDTO> update(
             @Parameter(description = "ID матеріалу")
@@ -96,6 +259,57 @@ public class SupplyItemController {
         return ResponseEntity.ok(updated);
     }
 
+    @PostMapping("/{id}/issue")
+    @Operation(
+            summary = "Видати кількість з партії",
+            description = "Атомарно зменшує кількість матеріалу зі статусом IN_STOCK на вказане значення. " +
+                    "Якщо матеріал не на складі або залишку недостатньо, повертає 400 і кількість не змінюється"
+    )
+    public ResponseEntity<SupplyItemResponseDTO> issue(
+            @Parameter(description = "ID матеріалу")
+            @PathVariable Long id,
+            @Valid @RequestBody QuantityAdjustmentDTO dto) {
+
+        log.info("REST request to issue {} from supply item with ID: {}", dto.getQuantity(), id);
+
+        return ResponseEntity.ok(itemService.issue(id, dto.getQuantity()));
+    }
+
+    @PostMapping("/{id}/receive")
+    @Operation(
+            summary = "Прийняти кількість до партії",
+            description = "Атомарно збільшує кількість матеріалу зі статусом IN_STOCK на вказане значення. " +
+                    "Для матеріалів з іншим статусом повертає 400"
+    )
+    public ResponseEntity<SupplyItemResponseDTO> receive(
+            @Parameter(description = "ID матеріалу")
+            @PathVariable Long id,
+            @Valid @RequestBody QuantityAdjustmentDTO dto) {
+
+        log.info("REST request to receive {} into supply item with ID: {}", dto.getQuantity(), id);
+
+        return ResponseEntity.ok(itemService.receive(id, dto.getQuantity()));
+    }
+
+    @PostMapping("/{id}/transfer")
+    @Operation(
+            summary = "Перемістити матеріал на інший склад",
+            description = "Переміщує всю партію, частину кількості в нову партію (newBatchNumber) або в наявну " +
+                    "партію складу призначення (mergeIntoItemId) з тими ж назвою, одиницею виміру, терміном придатності " +
+                    "та класом небезпеки. Якщо на складі призначення недостатньо " +
+                    "вільного місця (capacity - currentOccupancy), повертає 400 і нічого не змінюється"
+    )
+    public ResponseEntity<SupplyItemTransferResultDTO> transfer(
+            @Parameter(description = "ID матеріалу")
+            @PathVariable Long id,
+            @Valid @RequestBody SupplyItemTransferDTO dto) {
+
+        log.info("REST request to transfer {} of supply item with ID: {} to warehouse ID: {}",
+                dto.getQuantity(), id, dto.getToWarehouseId());
+
+        return ResponseEntity.ok(itemService.transfer(id, dto));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(
             summary = "Видалити матеріал",
@@ -116,16 +330,66 @@ public class SupplyItemController {
     @Operation(
             summary = "Матеріали з терміном що закінчується",
             description = "Повертає список матеріалів з терміном придатності " +
-                    "що закінчується в найближчі N днів"
+                    "що закінчується в найближчі N днів, відсортований за терміном придатності"
     )
     public ResponseEntity<List<SupplyItemResponseDTO>> getExpiringSoon(
             @Parameter(description = "Кількість днів (за замовчуванням 30)")
-            @RequestParam(defaultValue = "30") int days) {
+            @RequestParam(defaultValue = "30") int days,
+            @Parameter(description = "Номер сторінки (з 0)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Розмір сторінки (від 1 до 500)")
+            @RequestParam(defaultValue = "100") int size) {
 
-        log.info("REST request to get items expiring in {} days", days);
+        log.info("REST request to get items expiring in {} days, page: {}, size: {}", days, page, size);
 
-        List<SupplyItemResponseDTO> items = itemService.findExpiringSoon(days);
+        List<SupplyItemResponseDTO> items = itemService.findExpiringSoon(days, page, size);
 
         return ResponseEntity.ok(items);
     }
+
+    @PostMapping("/expire-overdue")
+    @Operation(
+            summary = "Перевести прострочені матеріали у EXPIRED",
+            description = "Позапланово запускає прохід, що переводить матеріали зі статусом IN_STOCK " +
+                    "і минулим терміном придатності у EXPIRED. Якщо прохід уже виконується " +
+                    "(на цьому чи іншому вузлі), повертає skipped = true"
+    )
+    public ResponseEntity<ExpirationSweepResultDTO> expireOverdue() {
+        log.info("REST request to expire overdue supply items");
+
+        return ResponseEntity.ok(expirationSweepService.sweep());
+    }
+
+    @PostMapping("/purge")
+    @Operation(
+            summary = "Запустити очищення історії",
+            description = "Запускає у фоні видалення матеріалів зі статусом EXPIRED " +
+                    "що не змінювались довше заданої кількості днів (за замовчуванням supply.purge.retention). " +
+                    "Видалення виконується порціями з обмеженням швидкості; прогрес - GET /purge. " +
+                    "Видані та списані матеріали не видаляються: вони переносяться в архів"
+    )
+    public ResponseEntity<SupplyItemPurgeStatusDTO> startPurge(
+            @Parameter(description = "Мінімальний вік записів у днях")
+            @RequestParam(required = false) Integer olderThanDays) {
+
+        log.info("REST request to purge supply items older than {} days", olderThanDays);
+
+        SupplyItemPurgeStatusDTO status = purgeService.start(
+                olderThanDays != null ? Duration.ofDays(olderThanDays) : null);
+
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(status);
+    }
+
+    @GetMapping("/purge")
+    @Operation(
+            summary = "Прогрес очищення історії",
+            description = "Повертає стан поточного або результат останнього очищення"
+    )
+    public ResponseEntity<SupplyItemPurgeStatusDTO> getPurgeStatus() {
+        log.debug("REST request to get supply item purge status");
+
+        return ResponseEntity.ok(purgeService.getStatus());
+    }
 }
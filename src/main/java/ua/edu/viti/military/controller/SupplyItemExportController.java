@@ -0,0 +1,63 @@
+package ua.edu.viti.military.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ua.edu.viti.military.dto.FileFormat;
+import ua.edu.viti.military.dto.SupplyItemFilterDTO;
+import ua.edu.viti.military.service.SupplyItemExportService;
+
+@RestController
+@RequestMapping("/api/supply-items/export")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Supply Items Export", description = "API для потокового експорту матеріалів у файли")
+public class SupplyItemExportController {
+
+    private final SupplyItemExportService exportService;
+
+    @GetMapping
+    @Operation(
+            summary = "Експортувати матеріали",
+            description = "Потоково експортує матеріали у CSV або NDJSON з тими самими фільтрами, " +
+                    "що й список матеріалів. Записи не буферизуються в пам'яті, опційно стискаються gzip"
+    )
+    public ResponseEntity<StreamingResponseBody> export(
+            @ParameterObject SupplyItemFilterDTO filter,
+            @Parameter(description = "Формат файлу")
+            @RequestParam(defaultValue = "CSV") FileFormat format,
+            @Parameter(description = "Стиснути файл gzip")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        log.info("REST request to export supply items as {} (gzip: {}) with filter: {}", format, gzip, filter);
+
+        exportService.validate(filter);
+
+        String fileName = "supply-items" + (format == FileFormat.CSV ? ".csv" : ".ndjson") + (gzip ? ".gz" : "");
+        MediaType contentType = gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : format == FileFormat.CSV
+                        ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                        : MediaType.APPLICATION_NDJSON;
+
+        StreamingResponseBody body = outputStream -> exportService.export(filter, format, gzip, outputStream);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .contentType(contentType)
+                .body(body);
+    }
+}
@@ -0,0 +1,61 @@
+package ua.edu.viti.military.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import ua.edu.viti.military.dto.FileFormat;
+import ua.edu.viti.military.dto.ImportReportDTO;
+import ua.edu.viti.military.exception.BusinessLogicException;
+import ua.edu.viti.military.service.SupplyItemImportService;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/supply-items/import")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Supply Items Import", description = "API для потокового імпорту матеріалів з файлів")
+public class SupplyItemImportController {
+
+    private final SupplyItemImportService importService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(
+            summary = "Імпортувати матеріали з файлу",
+            description = "Потоково імпортує матеріали з CSV (з рядком заголовків) або NDJSON файлу. " +
+                    "Рядки зберігаються порціями в окремих транзакціях, некоректні рядки " +
+                    "повертаються у звіті і не відкочують решту імпорту"
+    )
+    public ResponseEntity<ImportReportDTO> importFile(
+            @Parameter(description = "Файл з матеріалами")
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Формат файлу (за замовчуванням визначається за розширенням)")
+            @RequestParam(required = false) FileFormat format) throws IOException {
+
+        log.info("REST request to import supply items from file: {} ({} bytes)",
+                file.getOriginalFilename(), file.getSize());
+
+        if (file.isEmpty()) {
+            throw new BusinessLogicException("Файл для імпорту порожній");
+        }
+
+        FileFormat resolved = format != null
+                ? format
+                : SupplyItemImportService.detectFormat(file.getOriginalFilename());
+
+        try (InputStream input = file.getInputStream()) {
+            ImportReportDTO report = importService.importItems(input, resolved);
+            return ResponseEntity.ok(report);
+        }
+    }
+}
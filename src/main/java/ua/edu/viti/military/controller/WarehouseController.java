@@ -9,6 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ua.edu.viti.military.dto.WarehouseCreateDTO;
 import ua.edu.viti.military.dto.WarehouseResponseDTO;
 import ua.edu.viti.military.service.WarehouseService;
@@ -44,33 +45,47 @@ public class WarehouseController {
     @GetMapping("/{id}")
     @Operation(
             summary = "Отримати склад по ID",
-            description = "Повертає деталі складу по його унікальному ідентифікатору"
+            description = "Повертає деталі складу по його унікальному ідентифікатору. " +
+                    "Підтримує умовний GET (If-None-Match / If-Modified-Since -> 304)"
     )
     public ResponseEntity<WarehouseResponseDTO> getById(
             @Parameter(description = "ID складу")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest request) {
 
         log.info("REST request to get warehouse with ID: {}", id);
 
         WarehouseResponseDTO warehouse = warehouseService.getById(id);
 
+        if (ConditionalGet.notModified(request,
+                ConditionalGet.versionOf(List.of(warehouse), WarehouseResponseDTO::getUpdatedAt))) {
+            return null;
+        }
+
         return ResponseEntity.ok(warehouse);
     }
 
     @GetMapping
     @Operation(
             summary = "Отримати всі склади",
-            description = "Повертає список всіх складів з можливістю фільтрації по наявності холодильного обладнання"
+            description = "Повертає список всіх складів з можливістю фільтрації по наявності холодильного обладнання. " +
+                    "Підтримує умовний GET (If-None-Match / If-Modified-Since -> 304)"
     )
     public ResponseEntity<List<WarehouseResponseDTO>> getAll(
             @Parameter(description = "Фільтр по наявності холодильного обладнання")
-            @RequestParam(required = false) Boolean hasRefrigeration) {
+            @RequestParam(required = false) Boolean hasRefrigeration,
+            WebRequest request) {
 
         log.info("REST request to get all warehouses with filter - hasRefrigeration: {}",
                 hasRefrigeration);
 
         List<WarehouseResponseDTO> warehouses = warehouseService.getAll(hasRefrigeration);
 
+        if (ConditionalGet.notModified(request,
+                ConditionalGet.versionOf(warehouses, WarehouseResponseDTO::getUpdatedAt))) {
+            return null;
+        }
+
         return ResponseEntity.ok(warehouses);
     }
 
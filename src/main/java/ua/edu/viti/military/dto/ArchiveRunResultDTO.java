@@ -0,0 +1,18 @@
+package ua.edu.viti.military.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveRunResultDTO {
+    private LocalDateTime updatedBefore;
+    private long archived;
+    private int chunks;
+    private boolean skipped;
+    private long durationMs;
+}
@@ -0,0 +1,14 @@
+package ua.edu.viti.military.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportErrorDTO {
+    private long row;
+    private String batchNumber;
+    private String message;
+}
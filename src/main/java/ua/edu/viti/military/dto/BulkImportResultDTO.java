@@ -0,0 +1,17 @@
+package ua.edu.viti.military.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResultDTO {
+    private int total;
+    private int created;
+    private int failed;
+    private List<BulkImportErrorDTO> errors;
+}
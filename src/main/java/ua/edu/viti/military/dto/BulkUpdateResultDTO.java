@@ -0,0 +1,17 @@
+package ua.edu.viti.military.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResultDTO {
+    private long updated;
+    private int chunks;
+    private long durationMs;
+
+    // Причина зупинки на порції, що не виконалась (null - виконано всі); зміни попередніх порцій збережено
+    private String error;
+}
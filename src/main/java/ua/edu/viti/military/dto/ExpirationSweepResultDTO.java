@@ -0,0 +1,18 @@
+package ua.edu.viti.military.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpirationSweepResultDTO {
+    private LocalDate expiredBefore;
+    private long expired;
+    private int chunks;
+    private boolean skipped;
+    private long durationMs;
+}
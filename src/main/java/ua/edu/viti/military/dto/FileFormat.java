@@ -0,0 +1,6 @@
+package ua.edu.viti.military.dto;
+
+public enum FileFormat {
+    CSV,              // Comma-separated values з рядком заголовків
+    NDJSON            // Один JSON-об'єкт на рядок
+}
@@ -0,0 +1,21 @@
+package ua.edu.viti.military.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDTO {
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private boolean aborted;
+    private long durationMs;
+    private double rowsPerSecond;
+    private List<BulkImportErrorDTO> errors;
+    private boolean errorsTruncated;
+}
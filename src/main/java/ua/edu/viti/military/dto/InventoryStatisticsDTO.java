@@ -0,0 +1,21 @@
+package ua.edu.viti.military.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryStatisticsDTO {
+    private long totalItems;
+    private long totalQuantity;
+    private List<StatisticsGroupDTO> byStatus;
+    private List<StatisticsGroupDTO> byHazardClass;
+    private List<StatisticsGroupDTO> byCategory;
+    private List<StatisticsGroupDTO> byWarehouse;
+    private LocalDateTime generatedAt;
+}
@@ -0,0 +1,18 @@
+package ua.edu.viti.military.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemBalanceDTO {
+    private Long itemId;
+    private LocalDateTime at;
+    private long balance;
+    // Момент знімка, від якого рахувався залишок (null - знімків ще немає)
+    private LocalDateTime snapshotAsOf;
+}
@@ -0,0 +1,13 @@
+package ua.edu.viti.military.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemBalanceDeltaDTO {
+    private Long itemId;
+    private Long delta;
+}
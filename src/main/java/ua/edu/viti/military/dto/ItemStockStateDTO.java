@@ -0,0 +1,17 @@
+package ua.edu.viti.military.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ua.edu.viti.military.entity.ItemStatus;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemStockStateDTO {
+    private Long id;
+    private Long warehouseId;
+    private Long categoryId;
+    private ItemStatus status;
+    private Integer quantity;
+}
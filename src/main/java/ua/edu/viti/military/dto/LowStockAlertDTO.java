@@ -0,0 +1,28 @@
+package ua.edu.viti.military.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LowStockAlertDTO {
+    private Long id;
+    private LowStockAlertType type;
+    private Long itemId;
+    private Long categoryId;
+    private Long warehouseId;
+    private Integer quantity;
+    private Integer threshold;
+    private LocalDateTime occurredAt;
+
+    /**
+     * Конструктор для JPQL-проєкції дефіцитних матеріалів
+     */
+    public LowStockAlertDTO(Long itemId, Long categoryId, Long warehouseId, Integer quantity, Integer threshold) {
+        this(null, LowStockAlertType.RAISED, itemId, categoryId, warehouseId, quantity, threshold, null);
+    }
+}
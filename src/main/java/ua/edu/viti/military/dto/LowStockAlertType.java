@@ -0,0 +1,6 @@
+package ua.edu.viti.military.dto;
+
+public enum LowStockAlertType {
+    RAISED,           // Кількість опустилась нижче порогу дозамовлення
+    RESOLVED          // Кількість знову не нижче порогу, матеріал не на складі або видалений
+}
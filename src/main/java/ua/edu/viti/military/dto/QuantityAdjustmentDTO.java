@@ -0,0 +1,17 @@
+package ua.edu.viti.military.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuantityAdjustmentDTO {
+
+    @NotNull(message = "Кількість має бути вказана")
+    @Positive(message = "Кількість має бути додатним числом")
+    private Integer quantity;
+}
@@ -0,0 +1,16 @@
+package ua.edu.viti.military.dto;
+
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReorderThresholdDTO {
+
+    // null - вимкнути контроль залишків для категорії
+    @PositiveOrZero(message = "Поріг дозамовлення не може бути від'ємним")
+    private Integer reorderThreshold;
+}
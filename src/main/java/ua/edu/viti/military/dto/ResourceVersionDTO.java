@@ -0,0 +1,35 @@
+package ua.edu.viti.military.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Версія ресурсу або колекції для умовних GET (ETag / Last-Modified):
+ * кількість записів, сума їх версій і час останньої зміни
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceVersionDTO {
+    private long count;
+    private long versionSum;
+    private LocalDateTime lastModified;
+
+    /**
+     * Конструктор для JPQL/Criteria-проєкцій матеріалів: враховує зміни пов'язаних категорій і складів
+     */
+    public ResourceVersionDTO(Long count, Long versionSum, LocalDateTime itemsUpdatedAt,
+                              LocalDateTime categoriesUpdatedAt, LocalDateTime warehousesUpdatedAt) {
+        this(count != null ? count : 0L,
+                versionSum != null ? versionSum : 0L,
+                Stream.of(itemsUpdatedAt, categoriesUpdatedAt, warehousesUpdatedAt)
+                        .filter(Objects::nonNull)
+                        .max(LocalDateTime::compareTo)
+                        .orElse(null));
+    }
+}
@@ -0,0 +1,16 @@
+package ua.edu.viti.military.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatisticsGroupDTO {
+    private Long id;
+    private String key;
+    private String name;
+    private Long itemCount;
+    private Long totalQuantity;
+}
@@ -0,0 +1,17 @@
+package ua.edu.viti.military.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ua.edu.viti.military.entity.ItemStatus;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAggregateDTO {
+    private Long warehouseId;
+    private Long categoryId;
+    private ItemStatus status;
+    private Long totalQuantity;
+    private Long itemCount;
+}
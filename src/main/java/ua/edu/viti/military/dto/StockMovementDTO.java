@@ -0,0 +1,20 @@
+package ua.edu.viti.military.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ua.edu.viti.military.entity.MovementType;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovementDTO {
+    private Long id;
+    private Long itemId;
+    private Long warehouseId;
+    private MovementType type;
+    private Integer quantityDelta;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,18 @@
+package ua.edu.viti.military.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReconciliationDTO {
+    private int checkedKeys;
+    private int mismatchCount;
+    private boolean repaired;
+    private long durationMs;
+    private List<StockAggregateMismatchDTO> mismatches;
+}
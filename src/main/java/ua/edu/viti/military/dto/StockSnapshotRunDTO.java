@@ -0,0 +1,17 @@
+package ua.edu.viti.military.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSnapshotRunDTO {
+    private LocalDateTime asOf;
+    private int snapshots;
+    private boolean skipped;
+    private long durationMs;
+}
@@ -1,6 +1,7 @@
 package ua.edu.viti.military.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -23,4 +24,7 @@ public class SupplyCategoryCreateDTO {
     private String description;
 
     private Boolean requiresColdStorage;
+
+    @PositiveOrZero(message = "Поріг дозамовлення не може бути від'ємним")
+    private Integer reorderThreshold;
 }
@@ -0,0 +1,16 @@
+package ua.edu.viti.military.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Незмінний знімок категорії для кешу довідкових даних (замість спільної JPA-сутності)
+ */
+public record SupplyCategoryRefDTO(Long id, String name, String code, String description,
+                                   Boolean requiresColdStorage, Integer reorderThreshold,
+                                   LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    public SupplyCategoryResponseDTO toResponseDTO() {
+        return new SupplyCategoryResponseDTO(id, name, code, description, requiresColdStorage, reorderThreshold,
+                createdAt, updatedAt);
+    }
+}
@@ -15,6 +15,7 @@ public class SupplyCategoryResponseDTO {
     private String code;
     private String description;
     private Boolean requiresColdStorage;
+    private Integer reorderThreshold;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
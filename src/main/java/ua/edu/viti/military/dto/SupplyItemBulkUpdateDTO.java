@@ -0,0 +1,23 @@
+package ua.edu.viti.military.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ua.edu.viti.military.entity.ItemStatus;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupplyItemBulkUpdateDTO {
+
+    @Valid
+    @NotNull(message = "Фільтр матеріалів має бути вказаний")
+    private SupplyItemFilterDTO filter;
+
+    // Нові значення; має бути вказане хоча б одне
+    private ItemStatus status;
+
+    private Long warehouseId;
+}
@@ -0,0 +1,19 @@
+package ua.edu.viti.military.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupplyItemChangeDTO {
+    private Long id;
+    private SupplyItemChangeType type;
+    private Long itemId;
+    // Стан матеріалу після зміни (null для DELETED та RESET)
+    private SupplyItemResponseDTO item;
+    private LocalDateTime occurredAt;
+}
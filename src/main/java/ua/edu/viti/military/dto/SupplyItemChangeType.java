@@ -0,0 +1,8 @@
+package ua.edu.viti.military.dto;
+
+public enum SupplyItemChangeType {
+    CREATED,          // Матеріал створено
+    UPDATED,          // Матеріал змінено
+    DELETED,          // Матеріал видалено
+    RESET             // Пропущено більше подій, ніж зберігається: потрібне повне перечитування
+}
@@ -0,0 +1,35 @@
+package ua.edu.viti.military.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({
+        "id", "name", "batchNumber", "categoryId", "categoryCode", "quantity", "unit",
+        "expirationDate", "hazardClass", "storageConditions", "warehouseId", "warehouseCode",
+        "status", "createdAt", "updatedAt"
+})
+public class SupplyItemExportDTO {
+    private Long id;
+    private String name;
+    private String batchNumber;
+    private Long categoryId;
+    private String categoryCode;
+    private Integer quantity;
+    private String unit;
+    private LocalDate expirationDate;
+    private String hazardClass;
+    private String storageConditions;
+    private Long warehouseId;
+    private String warehouseCode;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
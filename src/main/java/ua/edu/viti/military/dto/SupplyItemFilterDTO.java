@@ -0,0 +1,34 @@
+package ua.edu.viti.military.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import ua.edu.viti.military.entity.HazardClass;
+import ua.edu.viti.military.entity.ItemStatus;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupplyItemFilterDTO {
+
+    private ItemStatus status;
+
+    private Long categoryId;
+
+    private Long warehouseId;
+
+    private HazardClass hazardClass;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate expiresFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate expiresTo;
+
+    private Integer minQuantity;
+
+    private Integer maxQuantity;
+}
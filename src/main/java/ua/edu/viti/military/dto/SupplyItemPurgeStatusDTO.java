@@ -0,0 +1,21 @@
+package ua.edu.viti.military.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupplyItemPurgeStatusDTO {
+    private boolean running;
+    private LocalDateTime updatedBefore;
+    private long deleted;
+    private int chunks;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private boolean skipped;
+    private String error;
+}
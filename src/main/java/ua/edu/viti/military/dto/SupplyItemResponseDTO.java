@@ -25,6 +25,26 @@ public class SupplyItemResponseDTO {
     private Long warehouseId;
     private String warehouseName;
     private ItemStatus status;
+    private Long version;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    /**
+     * Плоский конструктор для JPQL/Criteria-проєкцій (без завантаження сутностей)
+     */
+    public SupplyItemResponseDTO(Long id, String name, String batchNumber,
+                                 Long categoryId, String categoryName, String categoryCode,
+                                 String categoryDescription, Boolean categoryRequiresColdStorage,
+                                 Integer categoryReorderThreshold,
+                                 LocalDateTime categoryCreatedAt, LocalDateTime categoryUpdatedAt,
+                                 Integer quantity, String unit, LocalDate expirationDate,
+                                 HazardClass hazardClass, String storageConditions,
+                                 Long warehouseId, String warehouseName, ItemStatus status, Long version,
+                                 LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, name, batchNumber,
+                new SupplyCategoryResponseDTO(categoryId, categoryName, categoryCode, categoryDescription,
+                        categoryRequiresColdStorage, categoryReorderThreshold, categoryCreatedAt, categoryUpdatedAt),
+                quantity, unit, expirationDate, hazardClass, storageConditions,
+                warehouseId, warehouseName, status, version, createdAt, updatedAt);
+    }
 }
@@ -0,0 +1,19 @@
+package ua.edu.viti.military.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupplyItemSearchResultDTO {
+    private String query;
+    private long totalHits;
+    // false - totalHits є нижньою межею (точний підрахунок зупиняється після 1000 збігів)
+    private boolean totalHitsExact;
+    private long tookMs;
+    private List<SupplyItemResponseDTO> items;
+}
@@ -0,0 +1,28 @@
+package ua.edu.viti.military.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupplyItemTransferDTO {
+
+    @NotNull(message = "Склад призначення має бути вказаний")
+    private Long toWarehouseId;
+
+    @NotNull(message = "Кількість має бути вказана")
+    @Positive(message = "Кількість має бути додатним числом")
+    private Integer quantity;
+
+    // Партія на складі призначення, до якої додається кількість (null - без об'єднання)
+    private Long mergeIntoItemId;
+
+    // Номер нової партії при переміщенні частини кількості без об'єднання
+    @Size(max = 50, message = "Номер партії не може перевищувати 50 символів")
+    private String newBatchNumber;
+}
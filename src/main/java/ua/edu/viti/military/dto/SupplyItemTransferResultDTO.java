@@ -0,0 +1,15 @@
+package ua.edu.viti.military.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupplyItemTransferResultDTO {
+    // Вихідна партія після переміщення (null - партію повністю об'єднано та видалено)
+    private SupplyItemResponseDTO source;
+    // Партія на складі призначення: переміщена, нова або та, з якою об'єднано
+    private SupplyItemResponseDTO target;
+}
@@ -40,4 +40,7 @@ public class SupplyItemUpdateDTO {
     private Long warehouseId;
 
     private ItemStatus status;
+
+    // Версія, яку бачив клієнт; якщо вказана і не збігається з поточною - 409 Conflict
+    private Long version;
 }
@@ -26,6 +26,7 @@ public class WarehouseCreateDTO {
     @PositiveOrZero(message = "Місткість має бути невід'ємним числом")
     private Integer capacity;
 
+    // Ігнорується при створенні: заповненість ведеться по матеріалах складу
     @PositiveOrZero(message = "Заповненість має бути невід'ємним числом")
     private Integer currentOccupancy;
 
@@ -0,0 +1,7 @@
+package ua.edu.viti.military.dto;
+
+/**
+ * Незмінний знімок складу для кешу довідкових даних (без заповненості, що змінюється з рухом матеріалів)
+ */
+public record WarehouseRefDTO(Long id, String name, String code, Integer capacity, Boolean hasRefrigeration) {
+}
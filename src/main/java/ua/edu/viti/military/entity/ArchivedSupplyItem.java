@@ -0,0 +1,75 @@
+package ua.edu.viti.military.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Архівна копія матеріалу в кінцевому статусі (лише вставка), перенесена з supply_items.
+ * ID збігається з ID матеріалу. Без зовнішніх ключів, щоб архів переживав видалення категорії чи складу.
+ */
+@Entity
+@Immutable
+@Table(name = "supply_items_archive", indexes = {
+        @Index(name = "idx_supply_items_archive_batch", columnList = "batch_number"),
+        @Index(name = "idx_supply_items_archive_category", columnList = "category_id"),
+        @Index(name = "idx_supply_items_archive_warehouse", columnList = "warehouse_id"),
+        @Index(name = "idx_supply_items_archive_archived_at", columnList = "archived_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedSupplyItem {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 200)
+    private String name;
+
+    // Не унікальний: після архівації номер партії може бути використаний повторно
+    @Column(name = "batch_number", nullable = false, length = 50)
+    private String batchNumber;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(length = 20)
+    private String unit;
+
+    private LocalDate expirationDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private HazardClass hazardClass;
+
+    @Column(length = 200)
+    private String storageConditions;
+
+    @Column(name = "warehouse_id")
+    private Long warehouseId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ItemStatus status;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
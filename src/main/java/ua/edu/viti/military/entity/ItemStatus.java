@@ -4,5 +4,26 @@ public enum ItemStatus {
     IN_STOCK,         // На складі
     ISSUED,           // Видано
     EXPIRED,          // Прострочено
-    WRITTEN_OFF       // Списано
+    WRITTEN_OFF;      // Списано
+
+    /**
+     * Матеріал фізично знаходиться на складі: займає місце та входить до залишку.
+     * Прострочений матеріал лишається на складі до списання; видане та списане - ні.
+     */
+    public boolean isOnHand() {
+        return this == IN_STOCK || this == EXPIRED;
+    }
+
+    /**
+     * Допустима зміна статусу. Матеріал зі складу можна видати, визнати простроченим або списати;
+     * виданий чи прострочений - лише списати; списаний - кінцевий статус. Повернення на склад
+     * оформлюється надходженням нової партії, а не зміною статусу.
+     */
+    public boolean canTransitionTo(ItemStatus target) {
+        return switch (this) {
+            case IN_STOCK -> true;
+            case ISSUED, EXPIRED -> target == this || target == WRITTEN_OFF;
+            case WRITTEN_OFF -> target == WRITTEN_OFF;
+        };
+    }
 }
@@ -0,0 +1,33 @@
+package ua.edu.viti.military.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Блокування планових задач у базі: задачу виконує лише той вузол, що захопив рядок.
+ * Блокування діє до lockedUntil, тож вузол, що впав, не тримає його вічно.
+ */
+@Entity
+@Table(name = "job_locks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLock {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(nullable = false)
+    private LocalDateTime lockedAt;
+
+    @Column(nullable = false, length = 255)
+    private String lockedBy;
+}
@@ -0,0 +1,9 @@
+package ua.edu.viti.military.entity;
+
+public enum MovementType {
+    RECEIPT,          // Надходження
+    ISSUE,            // Видача
+    TRANSFER,         // Переміщення між складами
+    WRITE_OFF,        // Списання
+    ADJUSTMENT        // Коригування кількості
+}
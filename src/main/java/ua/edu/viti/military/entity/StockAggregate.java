@@ -0,0 +1,53 @@
+package ua.edu.viti.military.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Матеріалізований агрегат залишків у розрізі склад / категорія / статус.
+ * Оновлюється інкрементально в тій самій транзакції, що й зміни SupplyItem.
+ */
+@Entity
+@Table(name = "stock_aggregates", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_stock_aggregates_key", columnNames = {"warehouse_key", "category_id", "status"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAggregate {
+
+    // Значення warehouse_key для матеріалів без складу (ID складів починаються з 1)
+    public static final long NO_WAREHOUSE_KEY = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // null - матеріали, не розміщені на жодному складі
+    @Column(name = "warehouse_id")
+    private Long warehouseId;
+
+    // warehouse_id, де null замінено на NO_WAREHOUSE_KEY: NULL в унікальному ключі не дорівнює
+    // іншому NULL, тож ключ будується по цій колонці
+    @Column(name = "warehouse_key", nullable = false)
+    private Long warehouseKey;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ItemStatus status;
+
+    @Column(nullable = false)
+    private Long totalQuantity;
+
+    @Column(nullable = false)
+    private Long itemCount;
+
+    public static long warehouseKeyOf(Long warehouseId) {
+        return warehouseId != null ? warehouseId : NO_WAREHOUSE_KEY;
+    }
+}
@@ -0,0 +1,39 @@
+package ua.edu.viti.military.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Залишок матеріалу станом на asOf - сума всіх рухів з occurredAt <= asOf.
+ * Залишок на будь-який момент = останній знімок + рухи після нього.
+ */
+@Entity
+@Immutable
+@Table(name = "stock_balance_snapshots", indexes = {
+        @Index(name = "idx_stock_balance_snapshots_item_as_of", columnList = "item_id, as_of")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockBalanceSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_balance_snapshots_seq")
+    @SequenceGenerator(name = "stock_balance_snapshots_seq", sequenceName = "stock_balance_snapshots_seq",
+            allocationSize = 50)
+    private Long id;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(nullable = false)
+    private Long balance;
+
+    @Column(name = "as_of", nullable = false)
+    private LocalDateTime asOf;
+}
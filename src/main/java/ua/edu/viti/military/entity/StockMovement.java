@@ -0,0 +1,48 @@
+package ua.edu.viti.military.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Запис журналу руху матеріалів (лише вставка).
+ * Без зовнішніх ключів, щоб історія переживала видалення матеріалу чи складу.
+ */
+@Entity
+@Immutable
+@Table(name = "stock_movements", indexes = {
+        @Index(name = "idx_stock_movements_item_time", columnList = "item_id, occurred_at"),
+        @Index(name = "idx_stock_movements_time", columnList = "occurred_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_movements_seq")
+    @SequenceGenerator(name = "stock_movements_seq", sequenceName = "stock_movements_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    // Склад, до якого відноситься зміна (null - матеріал поза складом)
+    @Column(name = "warehouse_id")
+    private Long warehouseId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private MovementType type;
+
+    // Зміна залишку в наявності: додатна - надходження, від'ємна - вибуття
+    @Column(nullable = false)
+    private Integer quantityDelta;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
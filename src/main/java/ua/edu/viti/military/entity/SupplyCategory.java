@@ -33,6 +33,9 @@ public class SupplyCategory {
 
     private Boolean requiresColdStorage;
 
+    // Поріг дозамовлення: матеріал на складі з кількістю нижче порогу вважається дефіцитним (null - без контролю)
+    private Integer reorderThreshold;
+
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
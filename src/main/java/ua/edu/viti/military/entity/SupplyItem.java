@@ -12,15 +12,25 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "supply_items")
+@Table(name = "supply_items", indexes = {
+        @Index(name = "idx_supply_items_status_category", columnList = "status, category_id"),
+        @Index(name = "idx_supply_items_category_warehouse", columnList = "category_id, warehouse_id"),
+        @Index(name = "idx_supply_items_warehouse_status", columnList = "warehouse_id, status"),
+        @Index(name = "idx_supply_items_hazard_status", columnList = "hazard_class, status"),
+        @Index(name = "idx_supply_items_quantity", columnList = "quantity"),
+        @Index(name = "idx_supply_items_expiration", columnList = "expiration_date"),
+        @Index(name = "idx_supply_items_status_expiration", columnList = "status, expiration_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
 public class SupplyItem {
 
+    // Послідовність з pooled-оптимізатором дозволяє Hibernate групувати INSERT у JDBC-батчі
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "supply_items_seq")
+    @SequenceGenerator(name = "supply_items_seq", sequenceName = "supply_items_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -56,6 +66,10 @@ public class SupplyItem {
     @Column(nullable = false)
     private ItemStatus status;
 
+    // Оптимістичне блокування: паралельні оновлення однієї партії не затирають одне одного
+    @Version
+    private Long version;
+
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
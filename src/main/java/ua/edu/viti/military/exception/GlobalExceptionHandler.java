@@ -1,6 +1,7 @@
 package ua.edu.viti.military.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -62,6 +63,31 @@ public class GlobalExceptionHandler {
                 .body(error);
     }
 
+    /**
+     * Обробка конфліктів оптимістичного блокування (409 Conflict)
+     */
+    @ExceptionHandler({OptimisticLockConflictException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<ErrorResponse> handleOptimisticLockConflict(
+            RuntimeException ex,
+            WebRequest request) {
+
+        log.warn("Optimistic lock conflict: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse();
+        error.setType("/errors/optimistic-lock");
+        error.setTitle("Concurrent Modification");
+        error.setStatus(HttpStatus.CONFLICT.value());
+        error.setDetail(ex instanceof OptimisticLockConflictException
+                ? ex.getMessage()
+                : "Запис було змінено іншим користувачем, отримайте актуальну версію та повторіть запит");
+        error.setInstance(request.getDescription(false).replace("uri=", ""));
+        error.setTimestamp(LocalDateTime.now());
+
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(error);
+    }
+
     /**
      * Обробка BusinessLogicException (400 Bad Request)
      */
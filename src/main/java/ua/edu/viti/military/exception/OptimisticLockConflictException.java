@@ -0,0 +1,7 @@
+package ua.edu.viti.military.exception;
+
+public class OptimisticLockConflictException extends BaseException {
+    public OptimisticLockConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,55 @@
+package ua.edu.viti.military.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import ua.edu.viti.military.dto.ArchivedSupplyItemDTO;
+import ua.edu.viti.military.entity.ArchivedSupplyItem;
+import ua.edu.viti.military.entity.ItemStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedSupplyItemRepository extends JpaRepository<ArchivedSupplyItem, Long> {
+
+    // Копіювання рядків supply_items в архів одним INSERT ... SELECT
+    @Modifying
+    @Query("INSERT INTO ArchivedSupplyItem (id, name, batchNumber, categoryId, quantity, unit, expirationDate, " +
+           "hazardClass, storageConditions, warehouseId, status, version, createdAt, updatedAt, archivedAt) " +
+           "SELECT si.id, si.name, si.batchNumber, si.category.id, si.quantity, si.unit, si.expirationDate, " +
+           "si.hazardClass, si.storageConditions, si.warehouse.id, si.status, si.version, " +
+           "si.createdAt, si.updatedAt, :archivedAt " +
+           "FROM SupplyItem si WHERE si.id IN :ids")
+    int copyFrom(Collection<Long> ids, LocalDateTime archivedAt);
+
+    // Сторінка архіву (keyset по ID); null-параметри - без фільтра
+    @Query("SELECT new ua.edu.viti.military.dto.ArchivedSupplyItemDTO(" +
+           "a.id, a.name, a.batchNumber, a.categoryId, a.quantity, a.unit, a.expirationDate, " +
+           "a.hazardClass, a.storageConditions, a.warehouseId, a.status, a.version, " +
+           "a.createdAt, a.updatedAt, a.archivedAt) " +
+           "FROM ArchivedSupplyItem a " +
+           "WHERE a.id > :afterId " +
+           "AND (:status IS NULL OR a.status = :status) " +
+           "AND (:categoryId IS NULL OR a.categoryId = :categoryId) " +
+           "AND (:warehouseId IS NULL OR a.warehouseId = :warehouseId) " +
+           "AND (:batchNumber IS NULL OR a.batchNumber = :batchNumber) " +
+           "AND (:archivedFrom IS NULL OR a.archivedAt >= :archivedFrom) " +
+           "AND (:archivedTo IS NULL OR a.archivedAt < :archivedTo) " +
+           "ORDER BY a.id")
+    List<ArchivedSupplyItemDTO> findPage(Long afterId, ItemStatus status, Long categoryId, Long warehouseId,
+                                         String batchNumber, LocalDateTime archivedFrom, LocalDateTime archivedTo,
+                                         Limit limit);
+
+    // Архівний запис у DTO
+    @Query("SELECT new ua.edu.viti.military.dto.ArchivedSupplyItemDTO(" +
+           "a.id, a.name, a.batchNumber, a.categoryId, a.quantity, a.unit, a.expirationDate, " +
+           "a.hazardClass, a.storageConditions, a.warehouseId, a.status, a.version, " +
+           "a.createdAt, a.updatedAt, a.archivedAt) " +
+           "FROM ArchivedSupplyItem a WHERE a.id = :id")
+    Optional<ArchivedSupplyItemDTO> findResponseById(Long id);
+}
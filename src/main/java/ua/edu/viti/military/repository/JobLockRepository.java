@@ -0,0 +1,24 @@
+package ua.edu.viti.military.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import ua.edu.viti.military.entity.JobLock;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    // Захоплення: спрацьовує лише якщо попереднє блокування вже закінчилось
+    @Modifying
+    @Query("UPDATE JobLock l SET l.lockedUntil = :until, l.lockedAt = :now, l.lockedBy = :owner " +
+           "WHERE l.name = :name AND l.lockedUntil <= :now")
+    int tryLock(String name, String owner, LocalDateTime now, LocalDateTime until);
+
+    // Звільнення: лише власником блокування
+    @Modifying
+    @Query("UPDATE JobLock l SET l.lockedUntil = :now WHERE l.name = :name AND l.lockedBy = :owner")
+    int unlock(String name, String owner, LocalDateTime now);
+}
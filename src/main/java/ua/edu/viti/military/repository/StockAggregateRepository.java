@@ -0,0 +1,71 @@
+package ua.edu.viti.military.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import ua.edu.viti.military.dto.StatisticsGroupDTO;
+import ua.edu.viti.military.entity.ItemStatus;
+import ua.edu.viti.military.entity.StockAggregate;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockAggregateRepository extends JpaRepository<StockAggregate, Long> {
+
+    // Атомарне збільшення/зменшення агрегату; повертає 0, якщо рядка для ключа ще немає
+    @Modifying
+    @Query("UPDATE StockAggregate a " +
+           "SET a.totalQuantity = a.totalQuantity + :quantity, a.itemCount = a.itemCount + :count " +
+           "WHERE a.warehouseKey = :warehouseKey AND a.categoryId = :categoryId AND a.status = :status")
+    int increment(long warehouseKey, Long categoryId, ItemStatus status, long quantity, long count);
+
+    // Агрегати по складу
+    List<StockAggregate> findByWarehouseId(Long warehouseId);
+
+    // Агрегати по категорії
+    List<StockAggregate> findByCategoryId(Long categoryId);
+
+    // Статистика по статусах (GROUP BY по агрегатах, а не по таблиці матеріалів)
+    @Query("SELECT new ua.edu.viti.military.dto.StatisticsGroupDTO(" +
+           "NULL, CAST(a.status AS String), NULL, SUM(a.itemCount), SUM(a.totalQuantity)) " +
+           "FROM StockAggregate a " +
+           "GROUP BY a.status " +
+           "HAVING SUM(a.itemCount) > 0 " +
+           "ORDER BY a.status")
+    List<StatisticsGroupDTO> statisticsByStatus();
+
+    // Статистика по категоріях
+    @Query("SELECT new ua.edu.viti.military.dto.StatisticsGroupDTO(" +
+           "c.id, c.code, c.name, SUM(a.itemCount), SUM(a.totalQuantity)) " +
+           "FROM StockAggregate a " +
+           "JOIN SupplyCategory c ON c.id = a.categoryId " +
+           "GROUP BY c.id, c.code, c.name " +
+           "HAVING SUM(a.itemCount) > 0 " +
+           "ORDER BY c.code")
+    List<StatisticsGroupDTO> statisticsByCategory();
+
+    // Статистика по складах (матеріали без складу - окремою групою з id = null)
+    @Query("SELECT new ua.edu.viti.military.dto.StatisticsGroupDTO(" +
+           "w.id, w.code, w.name, SUM(a.itemCount), SUM(a.totalQuantity)) " +
+           "FROM StockAggregate a " +
+           "LEFT JOIN Warehouse w ON w.id = a.warehouseId " +
+           "GROUP BY w.id, w.code, w.name " +
+           "HAVING SUM(a.itemCount) > 0 " +
+           "ORDER BY w.code NULLS LAST")
+    List<StatisticsGroupDTO> statisticsByWarehouse();
+
+    // Кількість матеріалів по складах для заданих статусів (без матеріалів поза складами)
+    @Query("SELECT new ua.edu.viti.military.dto.StatisticsGroupDTO(" +
+           "a.warehouseId, NULL, NULL, SUM(a.itemCount), SUM(a.totalQuantity)) " +
+           "FROM StockAggregate a " +
+           "WHERE a.warehouseId IS NOT NULL AND a.status IN :statuses " +
+           "GROUP BY a.warehouseId")
+    List<StatisticsGroupDTO> statisticsByWarehouseIn(Collection<ItemStatus> statuses);
+
+    // Видалення всіх агрегатів одним запитом (для перебудови)
+    @Modifying
+    @Query("DELETE FROM StockAggregate a")
+    int deleteAllInBulk();
+}
@@ -0,0 +1,29 @@
+package ua.edu.viti.military.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import ua.edu.viti.military.entity.StockBalanceSnapshot;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockBalanceSnapshotRepository extends JpaRepository<StockBalanceSnapshot, Long> {
+
+    // Останній знімок матеріалу не пізніше заданого моменту
+    Optional<StockBalanceSnapshot> findFirstByItemIdAndAsOfLessThanEqualOrderByAsOfDesc(Long itemId,
+                                                                                        LocalDateTime at);
+
+    // Момент останнього знімка (межа, до якої журнал уже згорнутий)
+    @Query("SELECT MAX(s.asOf) FROM StockBalanceSnapshot s")
+    Optional<LocalDateTime> findLatestAsOf();
+
+    // Останні знімки для набору матеріалів
+    @Query("SELECT s FROM StockBalanceSnapshot s " +
+           "WHERE s.itemId IN :itemIds AND s.asOf = (" +
+           "SELECT MAX(s2.asOf) FROM StockBalanceSnapshot s2 WHERE s2.itemId = s.itemId)")
+    List<StockBalanceSnapshot> findLatestByItemIds(Collection<Long> itemIds);
+}
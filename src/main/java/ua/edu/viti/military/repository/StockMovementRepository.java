@@ -0,0 +1,33 @@
+package ua.edu.viti.military.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import ua.edu.viti.military.dto.ItemBalanceDeltaDTO;
+import ua.edu.viti.military.entity.StockMovement;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    // Сторінка руху по матеріалу (keyset по ID)
+    List<StockMovement> findByItemIdAndIdGreaterThanOrderByIdAsc(Long itemId, Long afterId, Limit limit);
+
+    // Сума змін по матеріалу в інтервалі (from, to]
+    @Query("SELECT COALESCE(SUM(m.quantityDelta), 0) FROM StockMovement m " +
+           "WHERE m.itemId = :itemId AND m.occurredAt > :from AND m.occurredAt <= :to")
+    long sumDeltas(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    // Чи є в журналі хоч один рух по матеріалу
+    boolean existsByItemId(Long itemId);
+
+    // Сумарні зміни по кожному матеріалу в інтервалі (from, to] - для знімків
+    @Query("SELECT new ua.edu.viti.military.dto.ItemBalanceDeltaDTO(m.itemId, SUM(m.quantityDelta)) " +
+           "FROM StockMovement m " +
+           "WHERE m.occurredAt > :from AND m.occurredAt <= :to " +
+           "GROUP BY m.itemId")
+    List<ItemBalanceDeltaDTO> sumDeltasByItem(LocalDateTime from, LocalDateTime to);
+}
@@ -1,23 +1,50 @@
 package ua.edu.viti.military.repository;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ua.edu.viti.military.config.CacheConfig;
+import ua.edu.viti.military.dto.SupplyCategoryRefDTO;
+import ua.edu.viti.military.dto.SupplyCategoryResponseDTO;
 import ua.edu.viti.military.entity.SupplyCategory;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SupplyCategoryRepository extends JpaRepository<SupplyCategory, Long> {
 
+    // Незмінний знімок по ID (кешується, відсутні записи не кешуються)
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "#p0", unless = "#result == null")
+    @Query("SELECT new ua.edu.viti.military.dto.SupplyCategoryRefDTO(" +
+           "c.id, c.name, c.code, c.description, c.requiresColdStorage, c.reorderThreshold, c.createdAt, c.updatedAt) " +
+           "FROM SupplyCategory c " +
+           "WHERE c.id = :id")
+    Optional<SupplyCategoryRefDTO> findRefById(Long id);
+
     // Пошук по імені
     Optional<SupplyCategory> findByName(String name);
 
     // Перевірка існування по імені
     boolean existsByName(String name);
 
-    // Пошук по коду
-    Optional<SupplyCategory> findByCode(String code);
+    // Незмінний знімок по коду (кешується)
+    @Cacheable(cacheNames = CacheConfig.CATEGORY_CODES, key = "#p0", unless = "#result == null")
+    @Query("SELECT new ua.edu.viti.military.dto.SupplyCategoryRefDTO(" +
+           "c.id, c.name, c.code, c.description, c.requiresColdStorage, c.reorderThreshold, c.createdAt, c.updatedAt) " +
+           "FROM SupplyCategory c " +
+           "WHERE c.code = :code")
+    Optional<SupplyCategoryRefDTO> findRefByCode(String code);
 
     // Перевірка існування по коду
+    @Cacheable(cacheNames = CacheConfig.CATEGORY_CODE_EXISTS, key = "#p0")
     boolean existsByCode(String code);
+
+    // Проєкція всіх категорій у DTO
+    @Query("SELECT new ua.edu.viti.military.dto.SupplyCategoryResponseDTO(" +
+           "c.id, c.name, c.code, c.description, c.requiresColdStorage, c.reorderThreshold, c.createdAt, c.updatedAt) " +
+           "FROM SupplyCategory c " +
+           "ORDER BY c.id")
+    List<SupplyCategoryResponseDTO> findAllResponses();
 }
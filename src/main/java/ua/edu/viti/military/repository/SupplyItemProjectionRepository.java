@@ -0,0 +1,27 @@
+package ua.edu.viti.military.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import ua.edu.viti.military.dto.ItemStockStateDTO;
+import ua.edu.viti.military.dto.ResourceVersionDTO;
+import ua.edu.viti.military.dto.SupplyItemResponseDTO;
+import ua.edu.viti.military.entity.SupplyItem;
+
+import java.util.List;
+
+/**
+ * Читання матеріалів одразу у SupplyItemResponseDTO та їх версії за довільною специфікацією
+ */
+public interface SupplyItemProjectionRepository {
+
+    // Матеріали, що відповідають специфікації, впорядковані по ID (limit = null - без обмеження)
+    List<SupplyItemResponseDTO> findResponses(Specification<SupplyItem> spec, Integer limit);
+
+    // ID матеріалів, що відповідають специфікації, впорядковані по ID
+    List<Long> findIds(Specification<SupplyItem> spec, int limit);
+
+    // Ключ агрегату та кількість матеріалів за специфікацією; рядки блокуються до кінця транзакції
+    List<ItemStockStateDTO> lockStockStates(Specification<SupplyItem> spec);
+
+    // Версія вибірки за специфікацією (кількість, сума версій, остання зміна) без читання самих рядків
+    ResourceVersionDTO findVersion(Specification<SupplyItem> spec);
+}
@@ -0,0 +1,129 @@
+package ua.edu.viti.military.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import ua.edu.viti.military.dto.ItemStockStateDTO;
+import ua.edu.viti.military.dto.ResourceVersionDTO;
+import ua.edu.viti.military.dto.SupplyItemResponseDTO;
+import ua.edu.viti.military.entity.SupplyCategory;
+import ua.edu.viti.military.entity.SupplyItem;
+import ua.edu.viti.military.entity.Warehouse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Criteria-проєкція: SELECT new SupplyItemResponseDTO(...) з тими самими
+ * предикатами, що й у SupplyItemSpecifications
+ */
+class SupplyItemProjectionRepositoryImpl implements SupplyItemProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<SupplyItemResponseDTO> findResponses(Specification<SupplyItem> spec, Integer limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SupplyItemResponseDTO> query = cb.createQuery(SupplyItemResponseDTO.class);
+        Root<SupplyItem> root = query.from(SupplyItem.class);
+
+        Join<SupplyItem, SupplyCategory> category = root.join("category", JoinType.INNER);
+        Join<SupplyItem, Warehouse> warehouse = root.join("warehouse", JoinType.LEFT);
+
+        query.select(cb.construct(SupplyItemResponseDTO.class,
+                root.get("id"), root.get("name"), root.get("batchNumber"),
+                category.get("id"), category.get("name"), category.get("code"),
+                category.get("description"), category.get("requiresColdStorage"),
+                category.get("reorderThreshold"),
+                category.get("createdAt"), category.get("updatedAt"),
+                root.get("quantity"), root.get("unit"), root.get("expirationDate"),
+                root.get("hazardClass"), root.get("storageConditions"),
+                warehouse.get("id"), warehouse.get("name"), root.get("status"), root.get("version"),
+                root.get("createdAt"), root.get("updatedAt")));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        TypedQuery<SupplyItemResponseDTO> typedQuery = entityManager.createQuery(query);
+        if (limit != null) {
+            typedQuery.setMaxResults(limit);
+        }
+
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public List<Long> findIds(Specification<SupplyItem> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<SupplyItem> root = query.from(SupplyItem.class);
+
+        query.select(root.get("id"));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<ItemStockStateDTO> lockStockStates(Specification<SupplyItem> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ItemStockStateDTO> query = cb.createQuery(ItemStockStateDTO.class);
+        Root<SupplyItem> root = query.from(SupplyItem.class);
+
+        // ID зв'язків читаються з зовнішніх ключів, без JOIN (SELECT ... FOR UPDATE по одній таблиці)
+        query.select(cb.construct(ItemStockStateDTO.class,
+                root.get("id"), root.get("warehouse").get("id"), root.get("category").get("id"),
+                root.get("status"), root.get("quantity")));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+    }
+
+    @Override
+    public ResourceVersionDTO findVersion(Specification<SupplyItem> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ResourceVersionDTO> query = cb.createQuery(ResourceVersionDTO.class);
+        Root<SupplyItem> root = query.from(SupplyItem.class);
+
+        Join<SupplyItem, SupplyCategory> category = root.join("category", JoinType.INNER);
+        Join<SupplyItem, Warehouse> warehouse = root.join("warehouse", JoinType.LEFT);
+
+        query.select(cb.construct(ResourceVersionDTO.class,
+                cb.count(root), cb.sum(root.<Long>get("version")),
+                cb.greatest(root.<LocalDateTime>get("updatedAt")),
+                cb.greatest(category.<LocalDateTime>get("updatedAt")),
+                cb.greatest(warehouse.<LocalDateTime>get("updatedAt"))));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
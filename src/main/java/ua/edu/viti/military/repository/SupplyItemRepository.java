@@ -1,44 +1,86 @@
 package ua.edu.viti.military.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import ua.edu.viti.military.dto.LowStockAlertDTO;
+import ua.edu.viti.military.dto.ResourceVersionDTO;
+import ua.edu.viti.military.dto.StatisticsGroupDTO;
+import ua.edu.viti.military.dto.StockAggregateDTO;
+import ua.edu.viti.military.dto.SupplyItemResponseDTO;
 import ua.edu.viti.military.entity.HazardClass;
 import ua.edu.viti.military.entity.ItemStatus;
 import ua.edu.viti.military.entity.SupplyItem;
+import ua.edu.viti.military.entity.Warehouse;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface SupplyItemRepository extends JpaRepository<SupplyItem, Long> {
+public interface SupplyItemRepository extends JpaRepository<SupplyItem, Long>,
+        JpaSpecificationExecutor<SupplyItem>, SupplyItemProjectionRepository {
+
+    // SELECT для читання одразу у SupplyItemResponseDTO (без сутностей у persistence context)
+    String RESPONSE_PROJECTION = "SELECT new ua.edu.viti.military.dto.SupplyItemResponseDTO(" +
+            "si.id, si.name, si.batchNumber, " +
+            "c.id, c.name, c.code, c.description, c.requiresColdStorage, c.reorderThreshold, c.createdAt, c.updatedAt, " +
+            "si.quantity, si.unit, si.expirationDate, si.hazardClass, si.storageConditions, " +
+            "w.id, w.name, si.status, si.version, si.createdAt, si.updatedAt) " +
+            "FROM SupplyItem si " +
+            "JOIN si.category c " +
+            "LEFT JOIN si.warehouse w ";
+
+    // Усі finder-методи, що повертають сутності, завантажують category та warehouse
+    // одним запитом через @EntityGraph, щоб уникнути N+1 при маппінгу в DTO
 
     // Пошук по номеру партії
+    @EntityGraph(attributePaths = {"category", "warehouse"})
     Optional<SupplyItem> findByBatchNumber(String batchNumber);
 
     // Перевірка існування по номеру партії
     boolean existsByBatchNumber(String batchNumber);
 
+    // Які з переданих номерів партій вже існують (одним запитом)
+    @Query("SELECT si.batchNumber FROM SupplyItem si WHERE si.batchNumber IN :batchNumbers")
+    List<String> findExistingBatchNumbers(Collection<String> batchNumbers);
+
     // Пошук по категорії
+    @EntityGraph(attributePaths = {"category", "warehouse"})
     List<SupplyItem> findByCategoryId(Long categoryId);
 
     // Пошук по статусу
+    @EntityGraph(attributePaths = {"category", "warehouse"})
     List<SupplyItem> findByStatus(ItemStatus status);
 
     // Підрахунок по статусу
     long countByStatus(ItemStatus status);
 
     // Знайти матеріали з терміном придатності раніше заданої дати
+    @EntityGraph(attributePaths = {"category", "warehouse"})
     List<SupplyItem> findByExpirationDateBefore(LocalDate date);
 
     // Знайти по складу
+    @EntityGraph(attributePaths = {"category", "warehouse"})
     List<SupplyItem> findByWarehouseId(Long warehouseId);
 
     // Знайти по класу небезпеки
+    @EntityGraph(attributePaths = {"category", "warehouse"})
     List<SupplyItem> findByHazardClass(HazardClass hazardClass);
 
     // Знайти з кількістю менше ніж X (для сповіщень про низькі залишки)
+    @EntityGraph(attributePaths = {"category", "warehouse"})
     List<SupplyItem> findByQuantityLessThan(Integer threshold);
 
     // JPQL запит з JOIN FETCH для ефективного завантаження зв'язків
@@ -53,4 +95,128 @@ public interface SupplyItemRepository extends JpaRepository<SupplyItem, Long> {
            "JOIN FETCH si.category " +
            "LEFT JOIN FETCH si.warehouse")
     List<SupplyItem> findAllWithDetails();
+
+    // Атомарне списання: спрацьовує лише для партії на складі (IN_STOCK) з достатнім залишком, інакше повертає 0
+    @Modifying
+    @Query("UPDATE SupplyItem si " +
+           "SET si.quantity = si.quantity - :amount, si.version = si.version + 1, si.updatedAt = :now " +
+           "WHERE si.id = :id AND si.status = ua.edu.viti.military.entity.ItemStatus.IN_STOCK " +
+           "AND si.quantity >= :amount")
+    int decrementQuantity(Long id, int amount, LocalDateTime now);
+
+    // Атомарне надходження: спрацьовує лише для партії на складі (IN_STOCK), інакше повертає 0
+    @Modifying
+    @Query("UPDATE SupplyItem si " +
+           "SET si.quantity = si.quantity + :amount, si.version = si.version + 1, si.updatedAt = :now " +
+           "WHERE si.id = :id AND si.status = ua.edu.viti.military.entity.ItemStatus.IN_STOCK")
+    int incrementQuantity(Long id, int amount, LocalDateTime now);
+
+    // Статус матеріалу (пояснення, чому атомарна зміна кількості не спрацювала)
+    @Query("SELECT si.status FROM SupplyItem si WHERE si.id = :id")
+    Optional<ItemStatus> findStatusById(Long id);
+
+    // Чи описують дві партії той самий матеріал (назва, одиниця, термін придатності, клас небезпеки)
+    @Query("SELECT COUNT(m) > 0 FROM SupplyItem s, SupplyItem m " +
+           "WHERE s.id = :id AND m.id = :otherId " +
+           "AND m.name = s.name " +
+           "AND m.unit IS NOT DISTINCT FROM s.unit " +
+           "AND m.expirationDate IS NOT DISTINCT FROM s.expirationDate " +
+           "AND m.hazardClass = s.hazardClass")
+    boolean isSameProduct(Long id, Long otherId);
+
+    // ID матеріалів зі статусом status, термін придатності яких минув до date (індекс status, expiration_date)
+    @Query("SELECT si.id FROM SupplyItem si " +
+           "WHERE si.status = :status AND si.expirationDate < :date " +
+           "ORDER BY si.expirationDate, si.id")
+    List<Long> findIdsByStatusAndExpirationDateBefore(ItemStatus status, LocalDate date, Limit limit);
+
+    // Масова зміна статусу: лише рядки, що досі мають статус from
+    @Modifying
+    @Query("UPDATE SupplyItem si " +
+           "SET si.status = :to, si.version = si.version + 1, si.updatedAt = :now " +
+           "WHERE si.id IN :ids AND si.status = :from")
+    int updateStatus(Collection<Long> ids, ItemStatus from, ItemStatus to, LocalDateTime now);
+
+    // Залишки рядків, змінених масовим оновленням з міткою часу updatedAt, у розрізі склад / категорія
+    @Query("SELECT new ua.edu.viti.military.dto.StockAggregateDTO(" +
+           "w.id, c.id, si.status, SUM(si.quantity), COUNT(si)) " +
+           "FROM SupplyItem si " +
+           "JOIN si.category c " +
+           "LEFT JOIN si.warehouse w " +
+           "WHERE si.id IN :ids AND si.status = :status AND si.updatedAt = :updatedAt " +
+           "GROUP BY w.id, c.id, si.status")
+    List<StockAggregateDTO> aggregateUpdated(Collection<Long> ids, ItemStatus status, LocalDateTime updatedAt);
+
+    // ID з ids, змінені масовим оновленням з міткою часу updatedAt
+    @Query("SELECT si.id FROM SupplyItem si " +
+           "WHERE si.id IN :ids AND si.status = :status AND si.updatedAt = :updatedAt")
+    List<Long> findIdsUpdated(Collection<Long> ids, ItemStatus status, LocalDateTime updatedAt);
+
+    // Масова зміна статусу та/або складу рядків, заблокованих SupplyItemProjectionRepository.lockStockStates
+    @Modifying
+    @Query("UPDATE SupplyItem si " +
+           "SET si.status = :status, si.version = si.version + 1, si.updatedAt = :now " +
+           "WHERE si.id IN :ids")
+    int setStatus(Collection<Long> ids, ItemStatus status, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE SupplyItem si " +
+           "SET si.warehouse = :warehouse, si.version = si.version + 1, si.updatedAt = :now " +
+           "WHERE si.id IN :ids")
+    int setWarehouse(Collection<Long> ids, Warehouse warehouse, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE SupplyItem si " +
+           "SET si.status = :status, si.warehouse = :warehouse, si.version = si.version + 1, si.updatedAt = :now " +
+           "WHERE si.id IN :ids")
+    int setStatusAndWarehouse(Collection<Long> ids, ItemStatus status, Warehouse warehouse, LocalDateTime now);
+
+    // Матеріали зі статусом status і кількістю нижче порогу дозамовлення категорії (categoryId = null - усі категорії)
+    @Query("SELECT new ua.edu.viti.military.dto.LowStockAlertDTO(" +
+           "si.id, c.id, w.id, si.quantity, c.reorderThreshold) " +
+           "FROM SupplyItem si " +
+           "JOIN si.category c " +
+           "LEFT JOIN si.warehouse w " +
+           "WHERE si.status = :status AND si.quantity < c.reorderThreshold " +
+           "AND (:categoryId IS NULL OR c.id = :categoryId)")
+    List<LowStockAlertDTO> findBelowReorderThreshold(ItemStatus status, Long categoryId);
+
+    // Версія одного матеріалу разом з його категорією та складом (count = 0 - матеріалу немає)
+    @Query("SELECT new ua.edu.viti.military.dto.ResourceVersionDTO(" +
+           "COUNT(si), SUM(si.version), MAX(si.updatedAt), MAX(c.updatedAt), MAX(w.updatedAt)) " +
+           "FROM SupplyItem si " +
+           "JOIN si.category c " +
+           "LEFT JOIN si.warehouse w " +
+           "WHERE si.id = :id")
+    ResourceVersionDTO findVersionById(Long id);
+
+    // Проєкція одного матеріалу по ID
+    @Query(RESPONSE_PROJECTION + "WHERE si.id = :id")
+    Optional<SupplyItemResponseDTO> findResponseById(Long id);
+
+    // Проєкція матеріалів з терміном придатності в діапазоні [from, to] (сортування та сторінка через Pageable)
+    @Query(RESPONSE_PROJECTION + "WHERE si.expirationDate BETWEEN :from AND :to")
+    List<SupplyItemResponseDTO> findResponsesByExpirationDateBetween(LocalDate from, LocalDate to, Pageable pageable);
+
+    // Повний перерахунок залишків у розрізі склад / категорія / статус
+    @Query("SELECT new ua.edu.viti.military.dto.StockAggregateDTO(" +
+           "w.id, c.id, si.status, SUM(si.quantity), COUNT(si)) " +
+           "FROM SupplyItem si " +
+           "JOIN si.category c " +
+           "LEFT JOIN si.warehouse w " +
+           "GROUP BY w.id, c.id, si.status")
+    List<StockAggregateDTO> aggregateStock();
+
+    // Статистика по класах небезпеки (клас небезпеки не входить до ключа агрегатів)
+    @Query("SELECT new ua.edu.viti.military.dto.StatisticsGroupDTO(" +
+           "NULL, CAST(si.hazardClass AS String), NULL, COUNT(si), SUM(si.quantity)) " +
+           "FROM SupplyItem si " +
+           "GROUP BY si.hazardClass " +
+           "ORDER BY si.hazardClass")
+    List<StatisticsGroupDTO> statisticsByHazardClass();
+
+    // Потокове читання проєкцій усіх елементів (використовувати лише всередині транзакції)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE_PROJECTION + "ORDER BY si.id")
+    Stream<SupplyItemResponseDTO> streamAllResponses();
 }
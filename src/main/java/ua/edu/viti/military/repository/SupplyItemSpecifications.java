@@ -0,0 +1,119 @@
+package ua.edu.viti.military.repository;
+
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import ua.edu.viti.military.dto.SupplyItemFilterDTO;
+import ua.edu.viti.military.entity.ItemStatus;
+import ua.edu.viti.military.entity.SupplyItem;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Специфікації для побудови динамічних запитів по матеріалах
+ */
+public final class SupplyItemSpecifications {
+
+    private SupplyItemSpecifications() {
+    }
+
+    /**
+     * Усі задані критерії фільтра, об'єднані через AND в одному WHERE
+     */
+    public static Specification<SupplyItem> matches(SupplyItemFilterDTO filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getCategoryId() != null) {
+                predicates.add(cb.equal(root.get("category").get("id"), filter.getCategoryId()));
+            }
+            if (filter.getWarehouseId() != null) {
+                predicates.add(cb.equal(root.get("warehouse").get("id"), filter.getWarehouseId()));
+            }
+            if (filter.getHazardClass() != null) {
+                predicates.add(cb.equal(root.get("hazardClass"), filter.getHazardClass()));
+            }
+            if (filter.getExpiresFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("expirationDate"), filter.getExpiresFrom()));
+            }
+            if (filter.getExpiresTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("expirationDate"), filter.getExpiresTo()));
+            }
+            if (filter.getMinQuantity() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("quantity"), filter.getMinQuantity()));
+            }
+            if (filter.getMaxQuantity() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("quantity"), filter.getMaxQuantity()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Keyset-умова: записи з ID більшим за курсор
+     */
+    public static Specification<SupplyItem> idGreaterThan(long afterId) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+    }
+
+    /**
+     * Матеріали, у яких хоча б одне із заданих значень (статус, склад) відрізняється від переданого
+     */
+    public static Specification<SupplyItem> differsFrom(ItemStatus status, Long warehouseId) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (status != null) {
+                predicates.add(cb.notEqual(root.get("status"), status));
+            }
+            if (warehouseId != null) {
+                predicates.add(cb.or(
+                        cb.isNull(root.get("warehouse")),
+                        cb.notEqual(root.get("warehouse").get("id"), warehouseId)));
+            }
+
+            return cb.or(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Матеріали із заданими статусами
+     */
+    public static Specification<SupplyItem> statusIn(Collection<ItemStatus> statuses) {
+        return (root, query, cb) -> root.get("status").in(statuses);
+    }
+
+    /**
+     * Матеріали з переданими ID
+     */
+    public static Specification<SupplyItem> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    /**
+     * Матеріали із заданими статусами, востаннє змінені до updatedBefore
+     */
+    public static Specification<SupplyItem> statusInUpdatedBefore(Collection<ItemStatus> statuses,
+                                                                  LocalDateTime updatedBefore) {
+        return (root, query, cb) -> cb.and(
+                root.get("status").in(statuses),
+                cb.lessThan(root.get("updatedAt"), updatedBefore));
+    }
+
+    /**
+     * Рядки з ids, змінені масовим оновленням статусу з міткою часу updatedAt
+     */
+    public static Specification<SupplyItem> updatedBy(Collection<Long> ids, ItemStatus status,
+                                                      LocalDateTime updatedAt) {
+        return (root, query, cb) -> cb.and(
+                root.get("id").in(ids),
+                cb.equal(root.get("status"), status),
+                cb.equal(root.get("updatedAt"), updatedAt));
+    }
+}
@@ -1,7 +1,13 @@
 package ua.edu.viti.military.repository;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ua.edu.viti.military.config.CacheConfig;
+import ua.edu.viti.military.dto.WarehouseRefDTO;
+import ua.edu.viti.military.dto.WarehouseResponseDTO;
 import ua.edu.viti.military.entity.Warehouse;
 
 import java.util.List;
@@ -10,12 +16,47 @@ import java.util.Optional;
 @Repository
 public interface WarehouseRepository extends JpaRepository<Warehouse, Long> {
 
-    // Пошук по коду
-    Optional<Warehouse> findByCode(String code);
+    // Незмінний знімок по ID (кешується, відсутні записи не кешуються)
+    @Cacheable(cacheNames = CacheConfig.WAREHOUSES, key = "#p0", unless = "#result == null")
+    @Query("SELECT new ua.edu.viti.military.dto.WarehouseRefDTO(w.id, w.name, w.code, w.capacity, w.hasRefrigeration) " +
+           "FROM Warehouse w " +
+           "WHERE w.id = :id")
+    Optional<WarehouseRefDTO> findRefById(Long id);
+
+    // Незмінний знімок по коду (кешується)
+    @Cacheable(cacheNames = CacheConfig.WAREHOUSE_CODES, key = "#p0", unless = "#result == null")
+    @Query("SELECT new ua.edu.viti.military.dto.WarehouseRefDTO(w.id, w.name, w.code, w.capacity, w.hasRefrigeration) " +
+           "FROM Warehouse w " +
+           "WHERE w.code = :code")
+    Optional<WarehouseRefDTO> findRefByCode(String code);
 
     // Перевірка існування по коду
+    @Cacheable(cacheNames = CacheConfig.WAREHOUSE_CODE_EXISTS, key = "#p0")
     boolean existsByCode(String code);
 
+    // Встановлення заповненості (звірка з агрегатами залишків); заповненість не змінює updatedAt:
+    // це не редагування складу
+    @Modifying
+    @Query("UPDATE Warehouse w SET w.currentOccupancy = :occupancy WHERE w.id = :id")
+    int setOccupancy(Long id, int occupancy);
+
+    // Проєкція складу в DTO (без кешу: заповненість змінюється з кожним рухом матеріалів)
+    @Query("SELECT new ua.edu.viti.military.dto.WarehouseResponseDTO(" +
+           "w.id, w.name, w.code, w.address, w.capacity, w.currentOccupancy, w.hasRefrigeration, " +
+           "w.createdAt, w.updatedAt) " +
+           "FROM Warehouse w " +
+           "WHERE w.id = :id")
+    Optional<WarehouseResponseDTO> findResponseById(Long id);
+
     // Пошук складів з холодильним обладнанням
     List<Warehouse> findByHasRefrigeration(Boolean hasRefrigeration);
+
+    // Проєкція складів у DTO (hasRefrigeration = null - без фільтра)
+    @Query("SELECT new ua.edu.viti.military.dto.WarehouseResponseDTO(" +
+           "w.id, w.name, w.code, w.address, w.capacity, w.currentOccupancy, w.hasRefrigeration, " +
+           "w.createdAt, w.updatedAt) " +
+           "FROM Warehouse w " +
+           "WHERE :hasRefrigeration IS NULL OR w.hasRefrigeration = :hasRefrigeration " +
+           "ORDER BY w.id")
+    List<WarehouseResponseDTO> findAllResponses(Boolean hasRefrigeration);
 }
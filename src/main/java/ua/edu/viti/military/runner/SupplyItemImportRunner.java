@@ -0,0 +1,52 @@
+package ua.edu.viti.military.runner;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ua.edu.viti.military.dto.FileFormat;
+import ua.edu.viti.military.dto.ImportReportDTO;
+import ua.edu.viti.military.service.SupplyItemImportService;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Імпорт матеріалів з файлу під час запуску застосунку.
+ * Приклад: java -jar app.jar --supply.import.file=/data/warehouse.csv --spring.main.web-application-type=none
+ */
+@Component
+@ConditionalOnProperty(name = "supply.import.file")
+@RequiredArgsConstructor
+@Slf4j
+public class SupplyItemImportRunner implements ApplicationRunner {
+
+    private final SupplyItemImportService importService;
+
+    @Value("${supply.import.file}")
+    private Path file;
+
+    @Value("${supply.import.format:#{null}}")
+    private FileFormat format;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        FileFormat resolved = format != null
+                ? format
+                : SupplyItemImportService.detectFormat(file.getFileName().toString());
+
+        log.info("Importing supply items from {} as {}", file, resolved);
+
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+            ImportReportDTO report = importService.importItems(input, resolved);
+
+            report.getErrors().forEach(error ->
+                    log.warn("Row {} ({}): {}", error.getRow(), error.getBatchNumber(), error.getMessage()));
+        }
+    }
+}
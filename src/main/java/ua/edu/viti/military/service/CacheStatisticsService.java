@@ -0,0 +1,53 @@
+package ua.edu.viti.military.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import ua.edu.viti.military.dto.CacheStatisticsDTO;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CacheStatisticsService {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Статистика влучань/промахів по всіх кешах
+     */
+    public List<CacheStatisticsDTO> getAll() {
+        log.debug("Collecting cache statistics");
+
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    private CacheStatisticsDTO toDTO(Cache cache) {
+        CacheStatisticsDTO dto = new CacheStatisticsDTO();
+        dto.setName(cache.getName());
+
+        // Транзакційна обгортка повертає native-кеш цільового CaffeineCache
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            CacheStats stats = nativeCache.stats();
+
+            dto.setSize(nativeCache.estimatedSize());
+            dto.setHitCount(stats.hitCount());
+            dto.setMissCount(stats.missCount());
+            dto.setHitRate(stats.hitRate());
+            dto.setEvictionCount(stats.evictionCount());
+        }
+
+        return dto;
+    }
+}
@@ -0,0 +1,130 @@
+package ua.edu.viti.military.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.edu.viti.military.dto.ExpirationSweepResultDTO;
+import ua.edu.viti.military.dto.StockAggregateDTO;
+import ua.edu.viti.military.entity.ItemStatus;
+import ua.edu.viti.military.repository.SupplyItemRepository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Планове переведення прострочених матеріалів (IN_STOCK з минулим терміном придатності) у EXPIRED.
+ * Працює порціями: кожна порція - окрема транзакція з одним UPDATE по ID,
+ * без завантаження сутностей. Одночасно виконується лише на одному вузлі (job_locks).
+ */
+@Service
+@Slf4j
+public class ExpirationSweepService {
+
+    static final String JOB_NAME = "expiration-sweep";
+
+    private final SupplyItemRepository itemRepository;
+    private final StockAggregateService stockAggregateService;
+    private final JobLockService jobLockService;
+    private final LowStockAlertService lowStockAlertService;
+    private final SupplyItemChangeFeedService changeFeedService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${supply.expiration.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${supply.expiration.lock-at-most:PT10M}")
+    private Duration lockAtMostFor;
+
+    public ExpirationSweepService(SupplyItemRepository itemRepository,
+                                  StockAggregateService stockAggregateService,
+                                  JobLockService jobLockService,
+                                  LowStockAlertService lowStockAlertService,
+                                  SupplyItemChangeFeedService changeFeedService,
+                                  PlatformTransactionManager transactionManager) {
+        this.itemRepository = itemRepository;
+        this.stockAggregateService = stockAggregateService;
+        this.jobLockService = jobLockService;
+        this.lowStockAlertService = lowStockAlertService;
+        this.changeFeedService = changeFeedService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Перевести прострочені матеріали у EXPIRED; пропускається, якщо прохід уже виконується на іншому вузлі
+     */
+    public ExpirationSweepResultDTO sweep() {
+        LocalDate today = LocalDate.now();
+
+        return jobLockService.runLocked(JOB_NAME, lockAtMostFor, () -> sweepExpiredBefore(today))
+                .orElseGet(() -> new ExpirationSweepResultDTO(today, 0, 0, true, 0));
+    }
+
+    /**
+     * Плановий прохід
+     */
+    @Scheduled(cron = "${supply.expiration.cron:0 5 * * * *}")
+    public void scheduledSweep() {
+        sweep();
+    }
+
+    private ExpirationSweepResultDTO sweepExpiredBefore(LocalDate today) {
+        log.info("Expiring supply items with expiration date before {} (chunk size: {})", today, chunkSize);
+
+        long startNanos = System.nanoTime();
+        long expired = 0;
+        int chunks = 0;
+
+        while (true) {
+            int[] chunk = transactionTemplate.execute(status -> expireChunk(today));
+            if (chunk == null || chunk[0] == 0) {
+                break;
+            }
+
+            expired += chunk[1];
+            chunks++;
+
+            // Неповна порція - прострочених рядків більше немає
+            if (chunk[0] < chunkSize) {
+                break;
+            }
+        }
+
+        long durationMs = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("Expiration sweep finished: {} items expired in {} chunks, {} ms", expired, chunks, durationMs);
+
+        return new ExpirationSweepResultDTO(today, expired, chunks, false, durationMs);
+    }
+
+    /**
+     * Одна порція: {кількість знайдених ID, кількість оновлених рядків}
+     */
+    private int[] expireChunk(LocalDate today) {
+        List<Long> ids = itemRepository.findIdsByStatusAndExpirationDateBefore(
+                ItemStatus.IN_STOCK, today, Limit.of(chunkSize));
+        if (ids.isEmpty()) {
+            return new int[]{0, 0};
+        }
+
+        // Мітка часу однозначно виділяє рядки, оновлені саме цією порцією
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        int updated = itemRepository.updateStatus(ids, ItemStatus.IN_STOCK, ItemStatus.EXPIRED, now);
+
+        if (updated > 0) {
+            // Залишок у наявності не змінюється, тож журнал руху не потрібен - лише агрегати, сповіщення та потік змін
+            List<StockAggregateDTO> moved = itemRepository.aggregateUpdated(ids, ItemStatus.EXPIRED, now);
+            stockAggregateService.onStatusChangedAll(moved, ItemStatus.IN_STOCK);
+            lowStockAlertService.onStatusChangedAll(ids, ItemStatus.EXPIRED, now);
+            changeFeedService.onStatusChangedAll(ids, ItemStatus.EXPIRED, now);
+        }
+
+        log.debug("Expired {} of {} selected supply items", updated, ids.size());
+        return new int[]{ids.size(), updated};
+    }
+}
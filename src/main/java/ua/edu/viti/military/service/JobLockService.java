@@ -0,0 +1,85 @@
+package ua.edu.viti.military.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.edu.viti.military.entity.JobLock;
+import ua.edu.viti.military.repository.JobLockRepository;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Блокування планових задач через таблицю job_locks, щоб задача виконувалась
+ * лише на одному вузлі одночасно. Захоплення та звільнення комітяться окремими
+ * транзакціями, незалежно від транзакції самої задачі.
+ */
+@Service
+@Slf4j
+public class JobLockService {
+
+    private final JobLockRepository lockRepository;
+    private final TransactionTemplate transactionTemplate;
+    // Унікальний для кожного запуску застосунку, навіть кількох на одному хості
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName()
+            + ":" + UUID.randomUUID().toString().substring(0, 8);
+
+    public JobLockService(JobLockRepository lockRepository, PlatformTransactionManager transactionManager) {
+        this.lockRepository = lockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Виконати задачу під блокуванням; порожній результат - блокування тримає інший вузол або запуск.
+     * lockAtMostFor - час, після якого блокування звільняється, навіть якщо вузол не відповідає.
+     */
+    public <T> Optional<T> runLocked(String name, Duration lockAtMostFor, Supplier<T> task) {
+        if (!tryLock(name, lockAtMostFor)) {
+            log.info("Job '{}' is locked by another run, skipping", name);
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.ofNullable(task.get());
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> lockRepository.unlock(name, owner, now()));
+        }
+    }
+
+    private boolean tryLock(String name, Duration lockAtMostFor) {
+        LocalDateTime now = now();
+        LocalDateTime until = now.plus(lockAtMostFor);
+
+        Integer updated = transactionTemplate.execute(status -> lockRepository.tryLock(name, owner, now, until));
+        if (updated != null && updated > 0) {
+            return true;
+        }
+
+        // Рядка ще немає - перший запуск задачі; одночасну вставку з іншого вузла відсікає первинний ключ
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (lockRepository.existsById(name)) {
+                    return false;
+                }
+                lockRepository.saveAndFlush(new JobLock(name, until, now, owner));
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    // Мілісекунди точно зберігаються в TIMESTAMP, тож порівняння в базі збігаються з Java
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+}
@@ -0,0 +1,287 @@
+package ua.edu.viti.military.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ua.edu.viti.military.dto.CursorPageDTO;
+import ua.edu.viti.military.dto.LowStockAlertDTO;
+import ua.edu.viti.military.dto.LowStockAlertType;
+import ua.edu.viti.military.dto.SupplyCategoryRefDTO;
+import ua.edu.viti.military.entity.ItemStatus;
+import ua.edu.viti.military.entity.SupplyItem;
+import ua.edu.viti.military.exception.BusinessLogicException;
+import ua.edu.viti.military.repository.SupplyCategoryRepository;
+import ua.edu.viti.military.repository.SupplyItemRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Сповіщення про дефіцит: матеріал на складі (IN_STOCK) з кількістю нижче порогу дозамовлення категорії.
+ * Пороги перевіряються інкрементально при кожній зміні матеріалу (методи on* викликаються
+ * з транзакцій SupplyItemService) по знімках до/після зміни, без запитів до supply_items;
+ * поріг категорії читається з кешу категорій. Сповіщення публікуються лише після коміту
+ * і розсилаються SSE-клієнтам через обмежені черги клієнтів (SseBroadcaster).
+ */
+@Service
+@Slf4j
+public class LowStockAlertService {
+
+    private final SupplyItemRepository itemRepository;
+    private final SupplyCategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Активні сповіщення по ID матеріалу
+    private final Map<Long, LowStockAlertDTO> active = new ConcurrentHashMap<>();
+    // Останні події для /history, не більше historySize; змінюються та читаються під lock
+    private final Deque<LowStockAlertDTO> history = new ArrayDeque<>();
+    // Нумерація сповіщень та історія
+    private final ReentrantLock lock = new ReentrantLock();
+    // Відправка у SSE з окремих задач, щоб повільні клієнти не гальмували коміт запиту та один одного
+    private final SseBroadcaster<LowStockAlertDTO> broadcaster;
+    private long sequence;
+
+    @Value("${supply.alerts.history-size:10000}")
+    private int historySize;
+
+    @Value("${supply.alerts.sse-timeout:PT30M}")
+    private Duration sseTimeout;
+
+    public LowStockAlertService(SupplyItemRepository itemRepository,
+                                SupplyCategoryRepository categoryRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${supply.alerts.client-buffer-size:1000}") int clientBufferSize,
+                                @Value("${supply.alerts.send-timeout:PT10S}") Duration sendTimeout,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.itemRepository = itemRepository;
+        this.categoryRepository = categoryRepository;
+        this.eventPublisher = eventPublisher;
+        this.broadcaster = new SseBroadcaster<>("low-stock-alerts", alert -> SseEmitter.event()
+                .id(String.valueOf(alert.getId()))
+                .name(alert.getType().name())
+                .data(alert), clientBufferSize, sendTimeout, virtualThreads);
+    }
+
+    /**
+     * Змінено матеріал: before = null для нового, after = null для видаленого
+     */
+    public void onChanged(Long itemId, StockAggregateService.StockSnapshot before,
+                          StockAggregateService.StockSnapshot after) {
+        Integer beforeThreshold = before != null ? thresholdOf(before.categoryId()) : null;
+        Integer afterThreshold = after != null ? thresholdOf(after.categoryId()) : null;
+
+        boolean wasLow = isLow(before, beforeThreshold);
+        boolean isLow = isLow(after, afterThreshold);
+        if (wasLow == isLow) {
+            return;
+        }
+
+        StockAggregateService.StockSnapshot current = after != null ? after : before;
+        eventPublisher.publishEvent(new LowStockAlertDTO(null,
+                isLow ? LowStockAlertType.RAISED : LowStockAlertType.RESOLVED,
+                itemId, current.categoryId(), current.warehouseId(), current.quantity(),
+                isLow ? afterThreshold : beforeThreshold, LocalDateTime.now()));
+    }
+
+    /**
+     * Створено багато матеріалів
+     */
+    public void onCreatedAll(Collection<SupplyItem> items) {
+        for (SupplyItem item : items) {
+            onChanged(item.getId(), null, StockAggregateService.StockSnapshot.of(item));
+        }
+    }
+
+    /**
+     * Масова зміна статусу з міткою часу updatedAt: закриваються активні сповіщення змінених матеріалів.
+     * База запитується лише для ID з активними сповіщеннями.
+     */
+    public void onStatusChangedAll(Collection<Long> ids, ItemStatus status, LocalDateTime updatedAt) {
+        if (status == ItemStatus.IN_STOCK) {
+            return;
+        }
+
+        List<Long> candidates = ids.stream()
+                .filter(active::containsKey)
+                .collect(Collectors.toList());
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        for (Long id : itemRepository.findIdsUpdated(candidates, status, updatedAt)) {
+            LowStockAlertDTO alert = active.get(id);
+            if (alert != null) {
+                eventPublisher.publishEvent(new LowStockAlertDTO(null, LowStockAlertType.RESOLVED,
+                        id, alert.getCategoryId(), alert.getWarehouseId(), alert.getQuantity(),
+                        alert.getThreshold(), LocalDateTime.now()));
+            }
+        }
+    }
+
+    /**
+     * Змінено поріг категорії: активні сповіщення категорії перераховуються одним запитом
+     */
+    public void onThresholdChanged(Long categoryId, Integer threshold) {
+        Map<Long, LowStockAlertDTO> low = threshold == null
+                ? Map.of()
+                : itemRepository.findBelowReorderThreshold(ItemStatus.IN_STOCK, categoryId).stream()
+                        .collect(Collectors.toMap(LowStockAlertDTO::getItemId, alert -> alert));
+        LocalDateTime now = LocalDateTime.now();
+
+        for (LowStockAlertDTO alert : active.values()) {
+            if (categoryId.equals(alert.getCategoryId()) && !low.containsKey(alert.getItemId())) {
+                eventPublisher.publishEvent(new LowStockAlertDTO(null, LowStockAlertType.RESOLVED,
+                        alert.getItemId(), categoryId, alert.getWarehouseId(), alert.getQuantity(),
+                        alert.getThreshold(), now));
+            }
+        }
+
+        for (LowStockAlertDTO alert : low.values()) {
+            LowStockAlertDTO current = active.get(alert.getItemId());
+            if (current == null || !threshold.equals(current.getThreshold())) {
+                alert.setOccurredAt(now);
+                eventPublisher.publishEvent(alert);
+            }
+        }
+    }
+
+    /**
+     * Зафіксувати сповіщення після коміту транзакції, що його спричинила
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlert(LowStockAlertDTO alert) {
+        lock.lock();
+        try {
+            alert.setId(++sequence);
+
+            if (alert.getType() == LowStockAlertType.RAISED) {
+                active.put(alert.getItemId(), alert);
+            } else {
+                active.remove(alert.getItemId());
+            }
+
+            history.addLast(alert);
+            while (history.size() > historySize) {
+                history.removeFirst();
+            }
+
+            log.debug("Low stock alert {}: item ID {} quantity {} threshold {}",
+                    alert.getType(), alert.getItemId(), alert.getQuantity(), alert.getThreshold());
+
+            broadcaster.publish(alert);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Активні сповіщення з фільтрацією по категорії та/або складу
+     */
+    public List<LowStockAlertDTO> getActive(Long categoryId, Long warehouseId) {
+        return active.values().stream()
+                .filter(a -> categoryId == null || categoryId.equals(a.getCategoryId()))
+                .filter(a -> warehouseId == null || warehouseId.equals(a.getWarehouseId()))
+                .sorted(Comparator.comparing(LowStockAlertDTO::getItemId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Останні події сповіщень після afterId (зберігається не більше supply.alerts.history-size)
+     */
+    public CursorPageDTO<LowStockAlertDTO> getHistory(Long afterId, int size) {
+        if (size < 1 || size > SupplyItemService.MAX_PAGE_SIZE) {
+            throw new BusinessLogicException(
+                    "Розмір сторінки має бути від 1 до " + SupplyItemService.MAX_PAGE_SIZE
+            );
+        }
+
+        long after = afterId != null ? afterId : 0L;
+        List<LowStockAlertDTO> content = new ArrayList<>(size + 1);
+
+        lock.lock();
+        try {
+            for (LowStockAlertDTO alert : history) {
+                if (alert.getId() > after) {
+                    content.add(alert);
+                    if (content.size() > size) {
+                        break;
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+
+        Long nextCursor = hasNext ? content.get(content.size() - 1).getId() : null;
+
+        return new CursorPageDTO<>(content, nextCursor, hasNext);
+    }
+
+    /**
+     * Підписка на нові сповіщення (Server-Sent Events). Клієнт, відключений через повільне читання,
+     * може дочитати пропущене через /history
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(sseTimeout.toMillis());
+        broadcaster.subscribe(emitter, List.of());
+
+        log.debug("Low stock alert subscriber added, total: {}", broadcaster.size());
+        return emitter;
+    }
+
+    /**
+     * Початковий стан активних сповіщень (без публікації подій)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void initialize() {
+        List<LowStockAlertDTO> low = itemRepository.findBelowReorderThreshold(ItemStatus.IN_STOCK, null);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (LowStockAlertDTO alert : low) {
+            alert.setOccurredAt(now);
+            active.put(alert.getItemId(), alert);
+        }
+
+        log.info("Low stock alerts initialized: {} items below reorder threshold", low.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.shutdown();
+    }
+
+    private Integer thresholdOf(Long categoryId) {
+        return categoryRepository.findRefById(categoryId)
+                .map(SupplyCategoryRefDTO::reorderThreshold)
+                .orElse(null);
+    }
+
+    private static boolean isLow(StockAggregateService.StockSnapshot snapshot, Integer threshold) {
+        return snapshot != null && threshold != null
+                && snapshot.status() == ItemStatus.IN_STOCK
+                && snapshot.quantity() < threshold;
+    }
+}
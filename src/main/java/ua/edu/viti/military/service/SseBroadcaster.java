@@ -0,0 +1,172 @@
+package ua.edu.viti.military.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Розсилка подій клієнтам SSE. Кожен клієнт має обмежену чергу і власну задачу відправки
+ * (віртуальний потік при spring.threads.virtual.enabled, інакше потік з пулу без обмеження розміру,
+ * що існує лише поки є що відправляти), тож повільний клієнт блокує лише свою відправку.
+ * publish не блокується: клієнт, черга якого переповнена або відправка якому триває довше
+ * sendTimeout, відключається і може перепідключитись.
+ */
+@Slf4j
+final class SseBroadcaster<T> {
+
+    private final String name;
+    private final Function<T, SseEmitter.SseEventBuilder> toEvent;
+    private final int capacity;
+    private final long sendTimeoutNanos;
+    private final Executor executor;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    SseBroadcaster(String name, Function<T, SseEmitter.SseEventBuilder> toEvent, int capacity,
+                   Duration sendTimeout, boolean virtualThreads) {
+        this.name = name;
+        this.toEvent = toEvent;
+        this.capacity = capacity;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+
+        if (virtualThreads) {
+            this.executor = new VirtualThreadTaskExecutor(name + "-");
+        } else {
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Клієнт: обмежена черга подій, прапорець запланованої відправки та початок поточної відправки
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<T> queue = new ArrayBlockingQueue<>(capacity);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean sending;
+        private volatile long sendStartedNanos;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private boolean isStalled(long now) {
+            return sending && now - sendStartedNanos > sendTimeoutNanos;
+        }
+    }
+
+    /**
+     * Розмір черги клієнта
+     */
+    int capacity() {
+        return capacity;
+    }
+
+    int size() {
+        return subscribers.size();
+    }
+
+    /**
+     * Додати клієнта; initial (не більше capacity подій) надсилаються першими
+     */
+    void subscribe(SseEmitter emitter, Collection<T> initial) {
+        Subscriber subscriber = new Subscriber(emitter);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        subscriber.queue.addAll(initial);
+        subscribers.add(subscriber);
+        schedule(subscriber);
+    }
+
+    /**
+     * Поставити подію в черги всіх клієнтів
+     */
+    void publish(T event) {
+        long now = System.nanoTime();
+
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.isStalled(now)) {
+                log.warn("{} subscriber has not accepted an event for {} ms, disconnecting",
+                        name, sendTimeoutNanos / 1_000_000);
+                disconnect(subscriber);
+            } else if (subscriber.queue.offer(event)) {
+                schedule(subscriber);
+            } else {
+                // Клієнт не встигає: відключаємо, він перепідключиться
+                log.warn("{} subscriber is too slow ({} events queued), disconnecting", name, capacity);
+                disconnect(subscriber);
+            }
+        }
+    }
+
+    void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    /**
+     * Відключити клієнта. complete чекає на завершення відправки, що триває,
+     * тому виконується в задачі відправки, а не в потоці, що публікує подію
+     */
+    private void disconnect(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.queue.clear();
+            executor.execute(subscriber.emitter::complete);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.queue.isEmpty() && subscriber.scheduled.compareAndSet(false, true)) {
+            executor.execute(() -> drain(subscriber));
+        }
+    }
+
+    /**
+     * Відправити клієнту все, що накопичилось у його черзі
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            T event;
+            while ((event = subscriber.queue.poll()) != null) {
+                subscriber.sendStartedNanos = System.nanoTime();
+                subscriber.sending = true;
+                subscriber.emitter.send(toEvent.apply(event));
+                subscriber.sending = false;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Клієнт відключився
+            subscribers.remove(subscriber);
+            subscriber.queue.clear();
+            return;
+        } finally {
+            subscriber.sending = false;
+            subscriber.scheduled.set(false);
+        }
+
+        // Подія могла надійти між останнім poll і скиданням прапорця
+        schedule(subscriber);
+    }
+}
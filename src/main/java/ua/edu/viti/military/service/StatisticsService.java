@@ -0,0 +1,53 @@
+package ua.edu.viti.military.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ua.edu.viti.military.config.CacheConfig;
+import ua.edu.viti.military.dto.InventoryStatisticsDTO;
+import ua.edu.viti.military.dto.StatisticsGroupDTO;
+import ua.edu.viti.military.repository.StockAggregateRepository;
+import ua.edu.viti.military.repository.SupplyItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Зведена статистика по матеріалах.
+ * Рахується кількома GROUP BY-запитами без завантаження сутностей;
+ * результат кешується на statistics.cache.ttl
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatisticsService {
+
+    private final StockAggregateRepository aggregateRepository;
+    private final SupplyItemRepository itemRepository;
+
+    /**
+     * Кількість партій та сумарна кількість у розрізі статусу, класу небезпеки, категорії та складу
+     */
+    @Cacheable(CacheConfig.STATISTICS)
+    @Transactional(readOnly = true)
+    public InventoryStatisticsDTO getInventoryStatistics() {
+        log.debug("Computing inventory statistics");
+
+        List<StatisticsGroupDTO> byStatus = aggregateRepository.statisticsByStatus();
+
+        long totalItems = byStatus.stream().mapToLong(StatisticsGroupDTO::getItemCount).sum();
+        long totalQuantity = byStatus.stream().mapToLong(StatisticsGroupDTO::getTotalQuantity).sum();
+
+        return new InventoryStatisticsDTO(
+                totalItems,
+                totalQuantity,
+                byStatus,
+                itemRepository.statisticsByHazardClass(),
+                aggregateRepository.statisticsByCategory(),
+                aggregateRepository.statisticsByWarehouse(),
+                LocalDateTime.now()
+        );
+    }
+}
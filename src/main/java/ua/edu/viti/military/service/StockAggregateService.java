@@ -0,0 +1,349 @@
+package ua.edu.viti.military.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import ua.edu.viti.military.dto.ItemStockStateDTO;
+import ua.edu.viti.military.dto.StockAggregateDTO;
+import ua.edu.viti.military.dto.StockAggregateMismatchDTO;
+import ua.edu.viti.military.dto.StockReconciliationDTO;
+import ua.edu.viti.military.entity.ItemStatus;
+import ua.edu.viti.military.entity.StockAggregate;
+import ua.edu.viti.military.entity.SupplyItem;
+import ua.edu.viti.military.repository.StockAggregateRepository;
+import ua.edu.viti.military.repository.SupplyItemRepository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Матеріалізовані залишки по складах, категоріях та статусах.
+ * Методи on* викликаються з SupplyItemService всередині його транзакції.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockAggregateService {
+
+    private static final String INSERT_SQL = "INSERT INTO stock_aggregates " +
+            "(warehouse_id, warehouse_key, category_id, status, total_quantity, item_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final StockAggregateRepository aggregateRepository;
+    private final SupplyItemRepository itemRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Ключ агрегату та кількість матеріалу до зміни
+     */
+    public record StockSnapshot(Long warehouseId, Long categoryId, ItemStatus status, int quantity) {
+
+        public static StockSnapshot of(SupplyItem item) {
+            return new StockSnapshot(
+                    item.getWarehouse() != null ? item.getWarehouse().getId() : null,
+                    item.getCategory().getId(),
+                    item.getStatus(),
+                    item.getQuantity()
+            );
+        }
+
+        public static StockSnapshot of(ItemStockStateDTO state) {
+            return new StockSnapshot(state.getWarehouseId(), state.getCategoryId(), state.getStatus(),
+                    state.getQuantity());
+        }
+
+        boolean sameKey(StockSnapshot other) {
+            return Objects.equals(warehouseId, other.warehouseId)
+                    && Objects.equals(categoryId, other.categoryId)
+                    && status == other.status;
+        }
+    }
+
+    /**
+     * Зміна одного матеріалу в масовому оновленні (after = null - матеріал видалено)
+     */
+    public record StockChange(Long itemId, StockSnapshot before, StockSnapshot after) {
+    }
+
+    /**
+     * Створено новий матеріал
+     */
+    @Transactional
+    public void onCreated(SupplyItem item) {
+        StockSnapshot after = StockSnapshot.of(item);
+        increment(after, after.quantity(), 1);
+    }
+
+    /**
+     * Створено багато матеріалів: дельти групуються в пам'яті, по одному UPDATE на ключ
+     */
+    @Transactional
+    public void onCreatedAll(Collection<SupplyItem> items) {
+        Map<StockSnapshot, long[]> deltas = new LinkedHashMap<>();
+
+        for (SupplyItem item : items) {
+            StockSnapshot snapshot = StockSnapshot.of(item);
+            StockSnapshot key = new StockSnapshot(snapshot.warehouseId(), snapshot.categoryId(), snapshot.status(), 0);
+            long[] delta = deltas.computeIfAbsent(key, k -> new long[2]);
+            delta[0] += snapshot.quantity();
+            delta[1]++;
+        }
+
+        deltas.forEach((key, delta) -> increment(key, delta[0], delta[1]));
+    }
+
+    /**
+     * Змінено матеріал (кількість, склад або статус)
+     */
+    @Transactional
+    public void onChanged(StockSnapshot before, SupplyItem item) {
+        StockSnapshot after = StockSnapshot.of(item);
+
+        if (before.sameKey(after)) {
+            if (before.quantity() != after.quantity()) {
+                increment(after, after.quantity() - before.quantity(), 0);
+            }
+            return;
+        }
+
+        increment(before, -before.quantity(), -1);
+        increment(after, after.quantity(), 1);
+    }
+
+    /**
+     * Змінено лише кількість матеріалу (атомарна видача / надходження)
+     */
+    @Transactional
+    public void onQuantityChanged(StockSnapshot key, long delta) {
+        increment(key, delta, 0);
+    }
+
+    /**
+     * Масова зміна статусу: залишки переносяться з ключа зі статусом from у ключ з новим статусом
+     */
+    @Transactional
+    public void onStatusChangedAll(Collection<StockAggregateDTO> moved, ItemStatus from) {
+        for (StockAggregateDTO group : moved) {
+            increment(new StockSnapshot(group.getWarehouseId(), group.getCategoryId(), from, 0),
+                    -group.getTotalQuantity(), -group.getItemCount());
+            increment(new StockSnapshot(group.getWarehouseId(), group.getCategoryId(), group.getStatus(), 0),
+                    group.getTotalQuantity(), group.getItemCount());
+        }
+    }
+
+    /**
+     * Масово змінено матеріали: дельти групуються в пам'яті, по одному UPDATE на ключ
+     */
+    @Transactional
+    public void onChangedAll(Collection<StockChange> changes) {
+        Map<StockSnapshot, long[]> deltas = new LinkedHashMap<>();
+
+        for (StockChange change : changes) {
+            StockSnapshot before = change.before();
+            StockSnapshot after = change.after();
+
+            long[] removed = deltas.computeIfAbsent(keyOf(before), k -> new long[2]);
+            removed[0] -= before.quantity();
+            removed[1]--;
+
+            if (after != null) {
+                long[] added = deltas.computeIfAbsent(keyOf(after), k -> new long[2]);
+                added[0] += after.quantity();
+                added[1]++;
+            }
+        }
+
+        deltas.forEach((key, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                increment(key, delta[0], delta[1]);
+            }
+        });
+    }
+
+    /**
+     * Видалено матеріал
+     */
+    @Transactional
+    public void onDeleted(StockSnapshot before) {
+        increment(before, -before.quantity(), -1);
+    }
+
+    /**
+     * Поточні агрегати з фільтрацією по складу та/або категорії
+     */
+    @Transactional(readOnly = true)
+    public List<StockAggregateDTO> getAll(Long warehouseId, Long categoryId) {
+        log.debug("Fetching stock aggregates - warehouseId: {}, categoryId: {}", warehouseId, categoryId);
+
+        List<StockAggregate> aggregates;
+
+        if (warehouseId != null) {
+            aggregates = aggregateRepository.findByWarehouseId(warehouseId);
+        } else if (categoryId != null) {
+            aggregates = aggregateRepository.findByCategoryId(categoryId);
+        } else {
+            aggregates = aggregateRepository.findAll();
+        }
+
+        return aggregates.stream()
+                .filter(a -> categoryId == null || categoryId.equals(a.getCategoryId()))
+                .filter(a -> a.getItemCount() > 0)
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Звірка агрегатів з повним перерахунком по supply_items; за потреби - перебудова
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public StockReconciliationDTO reconcile(boolean repair) {
+        log.info("Reconciling stock aggregates (repair: {})", repair);
+
+        long startNanos = System.nanoTime();
+
+        Map<String, StockAggregateDTO> expected = itemRepository.aggregateStock().stream()
+                .collect(Collectors.toMap(this::keyOf, Function.identity()));
+        Map<String, StockAggregateDTO> actual = aggregateRepository.findAll().stream()
+                .filter(a -> a.getItemCount() != 0 || a.getTotalQuantity() != 0)
+                .map(this::toDTO)
+                .collect(Collectors.toMap(this::keyOf, Function.identity()));
+
+        Set<String> keys = new HashSet<>(expected.keySet());
+        keys.addAll(actual.keySet());
+
+        List<StockAggregateMismatchDTO> mismatches = new ArrayList<>();
+        for (String key : keys) {
+            StockAggregateDTO e = expected.get(key);
+            StockAggregateDTO a = actual.get(key);
+            if (!Objects.equals(e, a)) {
+                mismatches.add(new StockAggregateMismatchDTO(e, a));
+            }
+        }
+
+        if (repair && !mismatches.isEmpty()) {
+            rebuild(expected.values());
+        }
+
+        long durationMs = (System.nanoTime() - startNanos) / 1_000_000;
+        if (mismatches.isEmpty()) {
+            log.info("Stock aggregates are consistent ({} keys checked in {} ms)", keys.size(), durationMs);
+        } else {
+            log.warn("Found {} stock aggregate mismatches ({} keys checked in {} ms, repaired: {})",
+                    mismatches.size(), keys.size(), durationMs, repair);
+        }
+
+        return new StockReconciliationDTO(keys.size(), mismatches.size(),
+                repair && !mismatches.isEmpty(), durationMs, mismatches);
+    }
+
+    /**
+     * Періодична звірка (лише перевірка, без виправлення)
+     */
+    @Scheduled(cron = "${stock.reconciliation.cron:0 0 3 * * *}")
+    @Transactional(isolation = Isolation.REPEATABLE_READ, readOnly = true)
+    public void scheduledReconciliation() {
+        reconcile(false);
+    }
+
+    /**
+     * Початкове заповнення агрегатів, якщо таблиця порожня, а матеріали вже є
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    @Transactional
+    public void initializeIfEmpty() {
+        if (aggregateRepository.count() == 0 && itemRepository.count() > 0) {
+            log.info("Stock aggregates are empty, rebuilding from supply items");
+            rebuild(itemRepository.aggregateStock());
+        }
+    }
+
+    private void rebuild(Collection<StockAggregateDTO> expected) {
+        aggregateRepository.deleteAllInBulk();
+        aggregateRepository.saveAll(expected.stream()
+                .map(dto -> new StockAggregate(null, dto.getWarehouseId(),
+                        StockAggregate.warehouseKeyOf(dto.getWarehouseId()), dto.getCategoryId(),
+                        dto.getStatus(), dto.getTotalQuantity(), dto.getItemCount()))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * UPDATE існуючого рядка; якщо рядка ще немає - INSERT. Дві транзакції можуть одночасно
+     * вставляти перший рядок ключа: та, що програла на uk_stock_aggregates_key, відкочує лише
+     * свою вставку і повторює UPDATE по рядку, який вставила інша.
+     */
+    private void increment(StockSnapshot key, long quantity, long count) {
+        long warehouseKey = StockAggregate.warehouseKeyOf(key.warehouseId());
+        if (aggregateRepository.increment(warehouseKey, key.categoryId(), key.status(), quantity, count) > 0) {
+            return;
+        }
+
+        boolean inserted;
+        try {
+            inserted = insert(key, warehouseKey, quantity, count);
+        } catch (DuplicateKeyException e) {
+            inserted = false;
+        }
+
+        if (!inserted
+                && aggregateRepository.increment(warehouseKey, key.categoryId(), key.status(), quantity, count) == 0) {
+            throw new IllegalStateException("Рядок агрегату " + key + " відсутній після паралельної вставки");
+        }
+    }
+
+    /**
+     * INSERT під savepoint поточної транзакції: конфлікт унікального ключа відкочує лише цю вставку
+     */
+    private boolean insert(StockSnapshot key, long warehouseKey, long quantity, long count) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                statement.setObject(1, key.warehouseId());
+                statement.setLong(2, warehouseKey);
+                statement.setLong(3, key.categoryId());
+                statement.setString(4, key.status().name());
+                statement.setLong(5, quantity);
+                statement.setLong(6, count);
+                int inserted = statement.executeUpdate();
+                connection.releaseSavepoint(savepoint);
+                return inserted > 0;
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                throw e;
+            }
+        }));
+    }
+
+    private static StockSnapshot keyOf(StockSnapshot snapshot) {
+        return new StockSnapshot(snapshot.warehouseId(), snapshot.categoryId(), snapshot.status(), 0);
+    }
+
+    private String keyOf(StockAggregateDTO dto) {
+        return dto.getWarehouseId() + ":" + dto.getCategoryId() + ":" + dto.getStatus();
+    }
+
+    private StockAggregateDTO toDTO(StockAggregate entity) {
+        return new StockAggregateDTO(entity.getWarehouseId(), entity.getCategoryId(), entity.getStatus(),
+                entity.getTotalQuantity(), entity.getItemCount());
+    }
+}
@@ -0,0 +1,319 @@
+package ua.edu.viti.military.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.edu.viti.military.dto.CursorPageDTO;
+import ua.edu.viti.military.dto.ItemBalanceDTO;
+import ua.edu.viti.military.dto.ItemBalanceDeltaDTO;
+import ua.edu.viti.military.dto.StockMovementDTO;
+import ua.edu.viti.military.dto.StockSnapshotRunDTO;
+import ua.edu.viti.military.entity.ItemStatus;
+import ua.edu.viti.military.entity.MovementType;
+import ua.edu.viti.military.entity.StockBalanceSnapshot;
+import ua.edu.viti.military.entity.StockMovement;
+import ua.edu.viti.military.entity.SupplyItem;
+import ua.edu.viti.military.exception.BusinessLogicException;
+import ua.edu.viti.military.exception.ResourceNotFoundException;
+import ua.edu.viti.military.repository.StockBalanceSnapshotRepository;
+import ua.edu.viti.military.repository.StockMovementRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Журнал руху матеріалів (лише вставка) та періодичні знімки залишків.
+ * Журнал веде залишок "в наявності" (ItemStatus.isOnHand): він дорівнює кількості матеріалу
+ * у статусах IN_STOCK та EXPIRED (прострочений матеріал фізично на складі до списання) і 0
+ * для ISSUED та WRITTEN_OFF. Перехід у ISSUED записується як ISSUE, у WRITTEN_OFF - як WRITE_OFF;
+ * повернення виданого матеріалу - RECEIPT, відновлення списаного - ADJUSTMENT.
+ * Методи on* викликаються з SupplyItemService всередині його транзакції.
+ */
+@Service
+@Slf4j
+public class StockLedgerService {
+
+    // Початок журналу для матеріалів, у яких ще немає знімка
+    private static final LocalDateTime LEDGER_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    // Максимальна кількість значень у одному IN (...) при читанні останніх знімків
+    private static final int SNAPSHOT_LOOKUP_SIZE = 1000;
+    static final String SNAPSHOT_JOB_NAME = "stock-ledger-snapshot";
+
+    private final StockMovementRepository movementRepository;
+    private final StockBalanceSnapshotRepository snapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLockService jobLockService;
+
+    // Знімок охоплює лише рухи, старші за lag, щоб не пропустити ще не закомічені транзакції
+    @Value("${stock.ledger.snapshot-lag:PT1M}")
+    private Duration snapshotLag;
+
+    @Value("${stock.ledger.snapshot-lock-at-most:PT10M}")
+    private Duration snapshotLockAtMostFor;
+
+    public StockLedgerService(StockMovementRepository movementRepository,
+                              StockBalanceSnapshotRepository snapshotRepository,
+                              JobLockService jobLockService,
+                              PlatformTransactionManager transactionManager) {
+        this.movementRepository = movementRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.jobLockService = jobLockService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Створено новий матеріал: початкове надходження
+     */
+    @Transactional
+    public void onCreated(SupplyItem item) {
+        StockMovement movement = initialReceipt(item, LocalDateTime.now());
+        if (movement != null) {
+            movementRepository.save(movement);
+        }
+    }
+
+    /**
+     * Створено багато матеріалів: записи журналу зберігаються JDBC-батчами
+     */
+    @Transactional
+    public void onCreatedAll(Collection<SupplyItem> items) {
+        LocalDateTime now = LocalDateTime.now();
+
+        movementRepository.saveAll(items.stream()
+                .map(item -> initialReceipt(item, now))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Змінено матеріал через оновлення: переміщення між складами та/або зміна залишку
+     */
+    @Transactional
+    public void onChanged(StockAggregateService.StockSnapshot before, SupplyItem item) {
+        List<StockMovement> movements = new ArrayList<>(3);
+        addMovements(movements, item.getId(), before, StockAggregateService.StockSnapshot.of(item),
+                LocalDateTime.now());
+        movementRepository.saveAll(movements);
+    }
+
+    /**
+     * Масово змінено матеріали: записи журналу зберігаються JDBC-батчами
+     */
+    @Transactional
+    public void onChangedAll(Collection<StockAggregateService.StockChange> changes) {
+        LocalDateTime now = LocalDateTime.now();
+        List<StockMovement> movements = new ArrayList<>(changes.size());
+
+        for (StockAggregateService.StockChange change : changes) {
+            if (change.after() != null) {
+                addMovements(movements, change.itemId(), change.before(), change.after(), now);
+                continue;
+            }
+
+            // Видалено: залишок у наявності списується, як у onDeleted
+            int onHand = onHand(change.before());
+            if (onHand > 0) {
+                movements.add(new StockMovement(null, change.itemId(), change.before().warehouseId(),
+                        MovementType.WRITE_OFF, -onHand, now));
+            }
+        }
+
+        movementRepository.saveAll(movements);
+    }
+
+    /**
+     * Атомарна видача / надходження
+     */
+    @Transactional
+    public void onQuantityAdjusted(Long itemId, StockAggregateService.StockSnapshot after,
+                                   MovementType type, int delta) {
+        if (after.status().isOnHand()) {
+            movementRepository.save(new StockMovement(null, itemId, after.warehouseId(), type, delta,
+                    LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Видалено матеріал: залишок у наявності списується
+     */
+    @Transactional
+    public void onDeleted(Long itemId, StockAggregateService.StockSnapshot before) {
+        int onHand = onHand(before);
+        if (onHand > 0) {
+            movementRepository.save(new StockMovement(null, itemId, before.warehouseId(),
+                    MovementType.WRITE_OFF, -onHand, LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Сторінка журналу руху матеріалу (keyset-пагінація по ID)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<StockMovementDTO> getMovements(Long itemId, Long afterId, int size) {
+        log.debug("Fetching stock movements for item ID: {} after ID: {}, size: {}", itemId, afterId, size);
+
+        if (size < 1 || size > SupplyItemService.MAX_PAGE_SIZE) {
+            throw new BusinessLogicException(
+                    "Розмір сторінки має бути від 1 до " + SupplyItemService.MAX_PAGE_SIZE
+            );
+        }
+
+        List<StockMovementDTO> content = movementRepository.findByItemIdAndIdGreaterThanOrderByIdAsc(
+                        itemId, afterId != null ? afterId : 0L, Limit.of(size + 1)).stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+
+        Long nextCursor = hasNext ? content.get(content.size() - 1).getId() : null;
+
+        return new CursorPageDTO<>(content, nextCursor, hasNext);
+    }
+
+    /**
+     * Залишок матеріалу на момент at: останній знімок + рухи після нього
+     */
+    @Transactional(readOnly = true)
+    public ItemBalanceDTO getBalance(Long itemId, LocalDateTime at) {
+        LocalDateTime moment = at != null ? at : LocalDateTime.now();
+        log.debug("Calculating balance of item ID: {} at {}", itemId, moment);
+
+        StockBalanceSnapshot snapshot = snapshotRepository
+                .findFirstByItemIdAndAsOfLessThanEqualOrderByAsOfDesc(itemId, moment)
+                .orElse(null);
+
+        if (snapshot == null && !movementRepository.existsByItemId(itemId)) {
+            throw new ResourceNotFoundException(
+                    "Рух матеріалу з ID " + itemId + " не знайдено"
+            );
+        }
+
+        LocalDateTime from = snapshot != null ? snapshot.getAsOf() : LEDGER_START;
+        long base = snapshot != null ? snapshot.getBalance() : 0L;
+        long tail = moment.isAfter(from) ? movementRepository.sumDeltas(itemId, from, moment) : 0L;
+
+        return new ItemBalanceDTO(itemId, moment, base + tail, snapshot != null ? snapshot.getAsOf() : null);
+    }
+
+    /**
+     * Знімки залишків для всіх матеріалів, що мали рухи після попереднього знімка.
+     * Паралельні запуски (на цьому чи іншому вузлі) пропускаються.
+     */
+    public StockSnapshotRunDTO takeSnapshots() {
+        // Мілісекунди точно зберігаються в TIMESTAMP, тож межа знімка в базі збігається з межею запиту
+        LocalDateTime asOf = LocalDateTime.now().minus(snapshotLag).truncatedTo(ChronoUnit.MILLIS);
+
+        // Знімок комітиться до зняття блокування, тож наступний запуск бачить новий asOf
+        return jobLockService.runLocked(SNAPSHOT_JOB_NAME, snapshotLockAtMostFor, () -> {
+            long startNanos = System.nanoTime();
+            Integer snapshots = transactionTemplate.execute(status -> writeSnapshots(asOf));
+            long durationMs = (System.nanoTime() - startNanos) / 1_000_000;
+
+            log.info("Stock balance snapshot as of {}: {} items in {} ms", asOf, snapshots, durationMs);
+            return new StockSnapshotRunDTO(asOf, snapshots != null ? snapshots : 0, false, durationMs);
+        }).orElseGet(() -> new StockSnapshotRunDTO(asOf, 0, true, 0));
+    }
+
+    /**
+     * Періодичні знімки залишків
+     */
+    @Scheduled(cron = "${stock.ledger.snapshot-cron:0 */15 * * * *}")
+    public void scheduledSnapshots() {
+        takeSnapshots();
+    }
+
+    private int writeSnapshots(LocalDateTime asOf) {
+        LocalDateTime from = snapshotRepository.findLatestAsOf().orElse(LEDGER_START);
+        if (!asOf.isAfter(from)) {
+            return 0;
+        }
+
+        // Кожен запуск охоплює всі матеріали з рухами в (from, asOf], тож останній знімок
+        // будь-якого матеріалу покриває всі його рухи до from
+        List<ItemBalanceDeltaDTO> deltas = movementRepository.sumDeltasByItem(from, asOf);
+        List<StockBalanceSnapshot> snapshots = new ArrayList<>(deltas.size());
+
+        for (int start = 0; start < deltas.size(); start += SNAPSHOT_LOOKUP_SIZE) {
+            List<ItemBalanceDeltaDTO> chunk = deltas.subList(start, Math.min(start + SNAPSHOT_LOOKUP_SIZE, deltas.size()));
+
+            Map<Long, Long> previous = snapshotRepository.findLatestByItemIds(
+                            chunk.stream().map(ItemBalanceDeltaDTO::getItemId).collect(Collectors.toList()))
+                    .stream()
+                    .collect(Collectors.toMap(StockBalanceSnapshot::getItemId, StockBalanceSnapshot::getBalance));
+
+            for (ItemBalanceDeltaDTO delta : chunk) {
+                long balance = previous.getOrDefault(delta.getItemId(), 0L) + delta.getDelta();
+                snapshots.add(new StockBalanceSnapshot(null, delta.getItemId(), balance, asOf));
+            }
+        }
+
+        snapshotRepository.saveAll(snapshots);
+        return snapshots.size();
+    }
+
+    private static void addMovements(List<StockMovement> movements, Long itemId,
+                                     StockAggregateService.StockSnapshot before,
+                                     StockAggregateService.StockSnapshot after, LocalDateTime now) {
+        int beforeOnHand = onHand(before);
+        int afterOnHand = onHand(after);
+
+        if (!Objects.equals(before.warehouseId(), after.warehouseId()) && beforeOnHand > 0) {
+            movements.add(new StockMovement(null, itemId, before.warehouseId(),
+                    MovementType.TRANSFER, -beforeOnHand, now));
+            movements.add(new StockMovement(null, itemId, after.warehouseId(),
+                    MovementType.TRANSFER, beforeOnHand, now));
+        }
+
+        int delta = afterOnHand - beforeOnHand;
+        if (delta != 0) {
+            movements.add(new StockMovement(null, itemId, after.warehouseId(),
+                    movementType(before.status(), after.status()), delta, now));
+        }
+    }
+
+    /**
+     * Тип руху при зміні залишку в наявності через статус або кількість
+     */
+    private static MovementType movementType(ItemStatus before, ItemStatus after) {
+        if (before.isOnHand() && !after.isOnHand()) {
+            return after == ItemStatus.ISSUED ? MovementType.ISSUE : MovementType.WRITE_OFF;
+        }
+        if (!before.isOnHand() && after.isOnHand()) {
+            return before == ItemStatus.ISSUED ? MovementType.RECEIPT : MovementType.ADJUSTMENT;
+        }
+        return MovementType.ADJUSTMENT;
+    }
+
+    private StockMovement initialReceipt(SupplyItem item, LocalDateTime now) {
+        int onHand = onHand(StockAggregateService.StockSnapshot.of(item));
+        if (onHand == 0) {
+            return null;
+        }
+        Long warehouseId = item.getWarehouse() != null ? item.getWarehouse().getId() : null;
+        return new StockMovement(null, item.getId(), warehouseId, MovementType.RECEIPT, onHand, now);
+    }
+
+    private static int onHand(StockAggregateService.StockSnapshot snapshot) {
+        return snapshot.status().isOnHand() ? snapshot.quantity() : 0;
+    }
+
+    private StockMovementDTO toDTO(StockMovement entity) {
+        return new StockMovementDTO(entity.getId(), entity.getItemId(), entity.getWarehouseId(),
+                entity.getType(), entity.getQuantityDelta(), entity.getOccurredAt());
+    }
+}
@@ -2,9 +2,13 @@ package ua.edu.viti.military.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ua.edu.viti.military.config.CacheConfig;
 import ua.edu.viti.military.dto.SupplyCategoryCreateDTO;
+import ua.edu.viti.military.dto.SupplyCategoryRefDTO;
 import ua.edu.viti.military.dto.SupplyCategoryResponseDTO;
 import ua.edu.viti.military.entity.SupplyCategory;
 import ua.edu.viti.military.exception.DuplicateResourceException;
@@ -12,7 +16,6 @@ import ua.edu.viti.military.exception.ResourceNotFoundException;
 import ua.edu.viti.military.repository.SupplyCategoryRepository;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -20,11 +23,14 @@ import java.util.stream.Collectors;
 public class SupplyCategoryService {
 
     private final SupplyCategoryRepository categoryRepository;
+    private final LowStockAlertService lowStockAlertService;
 
     /**
      * Створити нову категорію
      */
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.CATEGORIES, CacheConfig.CATEGORY_CODES,
+            CacheConfig.CATEGORY_CODE_EXISTS, CacheConfig.CATEGORY_LIST}, allEntries = true)
     public SupplyCategoryResponseDTO create(SupplyCategoryCreateDTO dto) {
         log.info("Creating new supply category with code: {}", dto.getCode());
 
@@ -47,6 +53,7 @@ public class SupplyCategoryService {
         category.setCode(dto.getCode());
         category.setDescription(dto.getDescription());
         category.setRequiresColdStorage(dto.getRequiresColdStorage());
+        category.setReorderThreshold(dto.getReorderThreshold());
 
         SupplyCategory saved = categoryRepository.save(category);
         log.info("Supply category created with ID: {}", saved.getId());
@@ -57,32 +64,56 @@ public class SupplyCategoryService {
     /**
      * Отримати категорію по ID
      */
+    @Transactional(readOnly = true)
     public SupplyCategoryResponseDTO getById(Long id) {
         log.debug("Fetching supply category with ID: {}", id);
 
-        SupplyCategory category = categoryRepository.findById(id)
+        return categoryRepository.findRefById(id)
+                .map(SupplyCategoryRefDTO::toResponseDTO)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Категорію з ID " + id + " не знайдено"
                 ));
-
-        return toResponseDTO(category);
     }
 
     /**
      * Отримати всі категорії
      */
+    @Cacheable(cacheNames = CacheConfig.CATEGORY_LIST)
+    @Transactional(readOnly = true)
     public List<SupplyCategoryResponseDTO> getAll() {
         log.debug("Fetching all supply categories");
 
-        return categoryRepository.findAll().stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+        return categoryRepository.findAllResponses();
+    }
+
+    /**
+     * Змінити поріг дозамовлення категорії (null - вимкнути контроль залишків)
+     */
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.CATEGORIES, CacheConfig.CATEGORY_CODES,
+            CacheConfig.CATEGORY_CODE_EXISTS, CacheConfig.CATEGORY_LIST}, allEntries = true)
+    public SupplyCategoryResponseDTO updateReorderThreshold(Long id, Integer reorderThreshold) {
+        log.info("Setting reorder threshold of supply category with ID {} to {}", id, reorderThreshold);
+
+        // Кеш містить незмінні знімки, тож змінюється лише керована сутність цієї транзакції
+        SupplyCategory category = categoryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Категорію з ID " + id + " не знайдено"
+                ));
+
+        category.setReorderThreshold(reorderThreshold);
+        SupplyCategory saved = categoryRepository.saveAndFlush(category);
+        lowStockAlertService.onThresholdChanged(id, reorderThreshold);
+
+        return toResponseDTO(saved);
     }
 
     /**
      * Видалити категорію
      */
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.CATEGORIES, CacheConfig.CATEGORY_CODES,
+            CacheConfig.CATEGORY_CODE_EXISTS, CacheConfig.CATEGORY_LIST}, allEntries = true)
     public void delete(Long id) {
         log.info("Deleting supply category with ID: {}", id);
 
@@ -106,6 +137,7 @@ public class SupplyCategoryService {
         dto.setCode(entity.getCode());
         dto.setDescription(entity.getDescription());
         dto.setRequiresColdStorage(entity.getRequiresColdStorage());
+        dto.setReorderThreshold(entity.getReorderThreshold());
         dto.setCreatedAt(entity.getCreatedAt());
         dto.setUpdatedAt(entity.getUpdatedAt());
         return dto;
@@ -0,0 +1,223 @@
+package ua.edu.viti.military.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.edu.viti.military.dto.ArchiveRunResultDTO;
+import ua.edu.viti.military.dto.ArchivedSupplyItemDTO;
+import ua.edu.viti.military.dto.CursorPageDTO;
+import ua.edu.viti.military.dto.ItemStockStateDTO;
+import ua.edu.viti.military.dto.SupplyItemChangeType;
+import ua.edu.viti.military.entity.ItemStatus;
+import ua.edu.viti.military.entity.SupplyItem;
+import ua.edu.viti.military.exception.BusinessLogicException;
+import ua.edu.viti.military.exception.ResourceNotFoundException;
+import ua.edu.viti.military.repository.ArchivedSupplyItemRepository;
+import ua.edu.viti.military.repository.SupplyItemRepository;
+import ua.edu.viti.military.repository.SupplyItemSpecifications;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Архів матеріалів: видані (ISSUED) та списані (WRITTEN_OFF) матеріали, що не змінювались довше
+ * supply.archive.min-age, переносяться з supply_items у supply_items_archive, тож робоча таблиця
+ * залишається невеликою. Перенесення - порціями, кожна порція окрема транзакція з одним
+ * INSERT ... SELECT та одним DELETE по ID. Архів читається окремим API з keyset-пагінацією.
+ */
+@Service
+@Slf4j
+public class SupplyItemArchiveService {
+
+    static final String JOB_NAME = "supply-item-archive";
+    static final Set<ItemStatus> ARCHIVED_STATUSES = EnumSet.of(ItemStatus.ISSUED, ItemStatus.WRITTEN_OFF);
+
+    // Кількість ID, що читаються одним запитом
+    private static final int ID_PAGE_SIZE = 50_000;
+
+    private final SupplyItemRepository itemRepository;
+    private final ArchivedSupplyItemRepository archiveRepository;
+    private final StockAggregateService stockAggregateService;
+    private final WarehouseOccupancyService occupancyService;
+    private final SupplyItemChangeFeedService changeFeedService;
+    private final JobLockService jobLockService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${supply.archive.min-age:P30D}")
+    private Duration minAge;
+
+    @Value("${supply.archive.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${supply.archive.lock-at-most:PT1H}")
+    private Duration lockAtMostFor;
+
+    public SupplyItemArchiveService(SupplyItemRepository itemRepository,
+                                    ArchivedSupplyItemRepository archiveRepository,
+                                    StockAggregateService stockAggregateService,
+                                    WarehouseOccupancyService occupancyService,
+                                    SupplyItemChangeFeedService changeFeedService,
+                                    JobLockService jobLockService,
+                                    PlatformTransactionManager transactionManager) {
+        this.itemRepository = itemRepository;
+        this.archiveRepository = archiveRepository;
+        this.stockAggregateService = stockAggregateService;
+        this.occupancyService = occupancyService;
+        this.changeFeedService = changeFeedService;
+        this.jobLockService = jobLockService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Перенести в архів матеріали, не змінені довше olderThan (null - supply.archive.min-age);
+     * пропускається, якщо перенесення вже виконується на іншому вузлі
+     */
+    public ArchiveRunResultDTO archive(Duration olderThan) {
+        Duration age = olderThan != null ? olderThan : minAge;
+        if (age.isNegative()) {
+            throw new BusinessLogicException("Вік записів для архівації не може бути від'ємним");
+        }
+
+        LocalDateTime updatedBefore = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS).minus(age);
+
+        return jobLockService.runLocked(JOB_NAME, lockAtMostFor, () -> archiveUpdatedBefore(updatedBefore))
+                .orElseGet(() -> new ArchiveRunResultDTO(updatedBefore, 0, 0, true, 0));
+    }
+
+    /**
+     * Плановий прохід
+     */
+    @Scheduled(cron = "${supply.archive.cron:0 30 2 * * *}")
+    public void scheduledArchive() {
+        archive(null);
+    }
+
+    /**
+     * Сторінка архіву з фільтрами (keyset-пагінація по ID)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ArchivedSupplyItemDTO> getPage(ItemStatus status, Long categoryId, Long warehouseId,
+                                                        String batchNumber, LocalDateTime archivedFrom,
+                                                        LocalDateTime archivedTo, Long afterId, int size) {
+        log.debug("Fetching archived supply items page after ID: {}, size: {}", afterId, size);
+
+        if (size < 1 || size > SupplyItemService.MAX_PAGE_SIZE) {
+            throw new BusinessLogicException(
+                    "Розмір сторінки має бути від 1 до " + SupplyItemService.MAX_PAGE_SIZE
+            );
+        }
+        if (archivedFrom != null && archivedTo != null && archivedFrom.isAfter(archivedTo)) {
+            throw new BusinessLogicException("Початок періоду архівації не може бути пізніше кінця");
+        }
+
+        // Запитуємо на один запис більше, щоб визначити наявність наступної сторінки
+        List<ArchivedSupplyItemDTO> content = archiveRepository.findPage(afterId != null ? afterId : 0L,
+                status, categoryId, warehouseId, batchNumber, archivedFrom, archivedTo, Limit.of(size + 1));
+
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+
+        Long nextCursor = hasNext ? content.get(content.size() - 1).getId() : null;
+
+        return new CursorPageDTO<>(content, nextCursor, hasNext);
+    }
+
+    /**
+     * Архівний запис по ID матеріалу
+     */
+    @Transactional(readOnly = true)
+    public ArchivedSupplyItemDTO getById(Long id) {
+        log.debug("Fetching archived supply item with ID: {}", id);
+
+        return archiveRepository.findResponseById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Матеріал з ID " + id + " в архіві не знайдено"
+                ));
+    }
+
+    private ArchiveRunResultDTO archiveUpdatedBefore(LocalDateTime updatedBefore) {
+        log.info("Archiving {} supply items updated before {} (chunk size: {})",
+                ARCHIVED_STATUSES, updatedBefore, chunkSize);
+
+        Specification<SupplyItem> spec = SupplyItemSpecifications.statusInUpdatedBefore(
+                ARCHIVED_STATUSES, updatedBefore);
+
+        long startNanos = System.nanoTime();
+        long archived = 0;
+        int chunks = 0;
+        long afterId = 0;
+
+        while (true) {
+            List<Long> page = itemRepository.findIds(
+                    spec.and(SupplyItemSpecifications.idGreaterThan(afterId)), ID_PAGE_SIZE);
+            if (page.isEmpty()) {
+                break;
+            }
+
+            for (int from = 0; from < page.size(); from += chunkSize) {
+                List<Long> ids = page.subList(from, Math.min(from + chunkSize, page.size()));
+                Integer count = transactionTemplate.execute(status -> archiveChunk(
+                        spec.and(SupplyItemSpecifications.idIn(ids))));
+                archived += count != null ? count : 0;
+                chunks++;
+            }
+
+            // Неповна сторінка - відповідних рядків більше немає
+            if (page.size() < ID_PAGE_SIZE) {
+                break;
+            }
+            afterId = page.get(page.size() - 1);
+        }
+
+        long durationMs = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("Archiving finished: {} supply items archived in {} chunks, {} ms", archived, chunks, durationMs);
+
+        return new ArchiveRunResultDTO(updatedBefore, archived, chunks, false, durationMs);
+    }
+
+    /**
+     * Одна порція. Рядки блокуються SELECT ... FOR UPDATE з повторною перевіркою статусу та віку,
+     * тож матеріал, змінений після вибору ID, залишається в робочій таблиці.
+     */
+    private int archiveChunk(Specification<SupplyItem> spec) {
+        List<ItemStockStateDTO> states = itemRepository.lockStockStates(spec);
+        if (states.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = new ArrayList<>(states.size());
+        List<StockAggregateService.StockChange> changes = new ArrayList<>(states.size());
+        for (ItemStockStateDTO state : states) {
+            ids.add(state.getId());
+            changes.add(new StockAggregateService.StockChange(state.getId(),
+                    StockAggregateService.StockSnapshot.of(state), null));
+        }
+
+        archiveRepository.copyFrom(ids, LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+        itemRepository.deleteAllByIdInBatch(ids);
+
+        // Архівація - не рух матеріалу, тож журнал руху не змінюється; сповіщення про дефіцит
+        // стосуються лише IN_STOCK. Для робочої таблиці та пошуку матеріал видалено.
+        occupancyService.onChangedAll(changes);
+        stockAggregateService.onChangedAll(changes);
+        for (Long id : ids) {
+            changeFeedService.onChanged(SupplyItemChangeType.DELETED, id, null);
+        }
+
+        log.debug("Archived {} supply items", ids.size());
+        return ids.size();
+    }
+}
@@ -0,0 +1,228 @@
+package ua.edu.viti.military.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.edu.viti.military.dto.BulkUpdateResultDTO;
+import ua.edu.viti.military.dto.ItemStockStateDTO;
+import ua.edu.viti.military.dto.SupplyItemBulkUpdateDTO;
+import ua.edu.viti.military.dto.SupplyItemFilterDTO;
+import ua.edu.viti.military.entity.ItemStatus;
+import ua.edu.viti.military.entity.SupplyItem;
+import ua.edu.viti.military.entity.Warehouse;
+import ua.edu.viti.military.exception.BaseException;
+import ua.edu.viti.military.exception.BusinessLogicException;
+import ua.edu.viti.military.exception.ResourceNotFoundException;
+import ua.edu.viti.military.repository.SupplyItemRepository;
+import ua.edu.viti.military.repository.SupplyItemSpecifications;
+import ua.edu.viti.military.repository.WarehouseRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Масова зміна статусу та/або складу всіх матеріалів, що відповідають фільтру.
+ * Працює порціями: кожна порція - окрема транзакція з одним UPDATE по ID,
+ * без завантаження сутностей. Заповненість складів, агрегати, журнал руху, сповіщення та потік
+ * змін оновлюються по знімках стану рядків, заблокованих на початку порції.
+ */
+@Service
+@Slf4j
+public class SupplyItemBulkUpdateService {
+
+    private final SupplyItemRepository itemRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final StockAggregateService stockAggregateService;
+    private final WarehouseOccupancyService occupancyService;
+    private final StockLedgerService stockLedgerService;
+    private final LowStockAlertService lowStockAlertService;
+    private final SupplyItemChangeFeedService changeFeedService;
+    private final TransactionTemplate transactionTemplate;
+
+    // Кількість ID, що читаються за фільтром одним запитом
+    private static final int ID_PAGE_SIZE = 50_000;
+
+    @Value("${supply.bulk-update.chunk-size:1000}")
+    private int chunkSize;
+
+    public SupplyItemBulkUpdateService(SupplyItemRepository itemRepository,
+                                       WarehouseRepository warehouseRepository,
+                                       StockAggregateService stockAggregateService,
+                                       WarehouseOccupancyService occupancyService,
+                                       StockLedgerService stockLedgerService,
+                                       LowStockAlertService lowStockAlertService,
+                                       SupplyItemChangeFeedService changeFeedService,
+                                       PlatformTransactionManager transactionManager) {
+        this.itemRepository = itemRepository;
+        this.warehouseRepository = warehouseRepository;
+        this.stockAggregateService = stockAggregateService;
+        this.occupancyService = occupancyService;
+        this.stockLedgerService = stockLedgerService;
+        this.lowStockAlertService = lowStockAlertService;
+        this.changeFeedService = changeFeedService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Змінити статус та/або склад матеріалів за фільтром. Рядки, що вже мають задані значення,
+     * не змінюються. Якщо хоч один матеріал за фільтром не може перейти до нового статусу
+     * (ItemStatus.canTransitionTo), нічого не змінюється. Порції комітяться окремо: на помилці
+     * порції оновлення зупиняється, а результат містить уже збережені зміни та причину зупинки.
+     */
+    public BulkUpdateResultDTO update(SupplyItemBulkUpdateDTO dto) {
+        log.info("Bulk updating supply items matching {}: status {}, warehouse ID {} (chunk size: {})",
+                dto.getFilter(), dto.getStatus(), dto.getWarehouseId(), chunkSize);
+
+        SupplyItemFilterDTO filter = dto.getFilter();
+        SupplyItemService.validateFilter(filter);
+
+        if (dto.getStatus() == null && dto.getWarehouseId() == null) {
+            throw new BusinessLogicException("Має бути вказаний новий статус та/або склад");
+        }
+        if (isEmpty(filter)) {
+            throw new BusinessLogicException("Фільтр масової зміни має містити хоча б одну умову");
+        }
+
+        Warehouse warehouse = null;
+        if (dto.getWarehouseId() != null) {
+            warehouseRepository.findRefById(dto.getWarehouseId())
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Склад з ID " + dto.getWarehouseId() + " не знайдено"
+                    ));
+            warehouse = warehouseRepository.getReferenceById(dto.getWarehouseId());
+        }
+
+        Specification<SupplyItem> spec = SupplyItemSpecifications.matches(filter)
+                .and(SupplyItemSpecifications.differsFrom(dto.getStatus(), dto.getWarehouseId()));
+
+        if (dto.getStatus() != null) {
+            List<ItemStatus> sources = Arrays.stream(ItemStatus.values())
+                    .filter(source -> source.canTransitionTo(dto.getStatus()))
+                    .toList();
+            if (itemRepository.exists(spec.and(Specification.not(SupplyItemSpecifications.statusIn(sources))))) {
+                throw new BusinessLogicException(
+                        "Фільтр охоплює матеріали, статус яких не можна змінити на " + dto.getStatus() +
+                        " (допустимі поточні статуси: " + sources + ")"
+                );
+            }
+            // Повторна перевірка в кожній порції: статус міг змінитись паралельно
+            spec = spec.and(SupplyItemSpecifications.statusIn(sources));
+        }
+
+        long startNanos = System.nanoTime();
+        long updated = 0;
+        int chunks = 0;
+        long afterId = 0;
+        String error = null;
+        Specification<SupplyItem> matching = spec;
+
+        // ID читаються великими сторінками по ключу: повторний пошук за фільтром на кожну порцію
+        // перечитував би індекс фільтра щоразу спочатку
+        pages:
+        while (true) {
+            List<Long> page = itemRepository.findIds(
+                    matching.and(SupplyItemSpecifications.idGreaterThan(afterId)), ID_PAGE_SIZE);
+            if (page.isEmpty()) {
+                break;
+            }
+
+            for (int from = 0; from < page.size(); from += chunkSize) {
+                List<Long> ids = page.subList(from, Math.min(from + chunkSize, page.size()));
+                Warehouse target = warehouse;
+                try {
+                    Integer count = transactionTemplate.execute(status -> updateChunk(
+                            matching.and(SupplyItemSpecifications.idIn(ids)), dto.getStatus(), target));
+                    updated += count != null ? count : 0;
+                    chunks++;
+                } catch (RuntimeException e) {
+                    error = chunkError(e);
+                    log.warn("Bulk update stopped at chunk {} after {} supply items updated: {}",
+                            chunks + 1, updated, e.getMessage());
+                    break pages;
+                }
+            }
+
+            // Неповна сторінка - відповідних рядків більше немає
+            if (page.size() < ID_PAGE_SIZE) {
+                break;
+            }
+            afterId = page.get(page.size() - 1);
+        }
+
+        long durationMs = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("Bulk update finished: {} supply items updated in {} chunks, {} ms", updated, chunks, durationMs);
+
+        return new BulkUpdateResultDTO(updated, chunks, durationMs, error);
+    }
+
+    // Повідомлення бізнес-помилок віддаються клієнту як є, внутрішні - без подробиць
+    private static String chunkError(RuntimeException e) {
+        if (e instanceof BaseException) {
+            return e.getMessage();
+        }
+        log.error("Bulk update chunk failed", e);
+        return "Порцію не вдалося оновити через внутрішню помилку";
+    }
+
+    /**
+     * Одна порція. Рядки блокуються SELECT ... FOR UPDATE з повторною перевіркою фільтра,
+     * тож стан "до" не зміниться паралельною видачею чи редагуванням до коміту порції.
+     */
+    private int updateChunk(Specification<SupplyItem> spec, ItemStatus status, Warehouse warehouse) {
+        List<ItemStockStateDTO> states = itemRepository.lockStockStates(spec);
+        if (states.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = states.stream()
+                .map(ItemStockStateDTO::getId)
+                .collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+
+        if (status != null && warehouse != null) {
+            itemRepository.setStatusAndWarehouse(ids, status, warehouse, now);
+        } else if (status != null) {
+            itemRepository.setStatus(ids, status, now);
+        } else {
+            itemRepository.setWarehouse(ids, warehouse, now);
+        }
+
+        List<StockAggregateService.StockChange> changes = new ArrayList<>(states.size());
+        for (ItemStockStateDTO state : states) {
+            StockAggregateService.StockSnapshot before = StockAggregateService.StockSnapshot.of(state);
+            StockAggregateService.StockSnapshot after = new StockAggregateService.StockSnapshot(
+                    warehouse != null ? warehouse.getId() : before.warehouseId(),
+                    before.categoryId(),
+                    status != null ? status : before.status(),
+                    before.quantity());
+            changes.add(new StockAggregateService.StockChange(state.getId(), before, after));
+        }
+
+        // Кількість групується по складах-джерелах і складу призначення: один умовний UPDATE на склад;
+        // якщо місця не вистачає, порція відкочується
+        occupancyService.onChangedAll(changes);
+        stockAggregateService.onChangedAll(changes);
+        stockLedgerService.onChangedAll(changes);
+        for (StockAggregateService.StockChange change : changes) {
+            lowStockAlertService.onChanged(change.itemId(), change.before(), change.after());
+        }
+        changeFeedService.onUpdatedAll(ids);
+
+        log.debug("Bulk updated {} supply items", ids.size());
+        return ids.size();
+    }
+
+    private static boolean isEmpty(SupplyItemFilterDTO filter) {
+        return filter.getStatus() == null && filter.getCategoryId() == null
+                && filter.getWarehouseId() == null && filter.getHazardClass() == null
+                && filter.getExpiresFrom() == null && filter.getExpiresTo() == null
+                && filter.getMinQuantity() == null && filter.getMaxQuantity() == null;
+    }
+}
@@ -0,0 +1,157 @@
+package ua.edu.viti.military.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ua.edu.viti.military.dto.SupplyItemChangeDTO;
+import ua.edu.viti.military.dto.SupplyItemChangeType;
+import ua.edu.viti.military.dto.SupplyItemResponseDTO;
+import ua.edu.viti.military.entity.ItemStatus;
+import ua.edu.viti.military.repository.SupplyItemRepository;
+import ua.edu.viti.military.repository.SupplyItemSpecifications;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Потік змін матеріалів (Server-Sent Events) для інкрементального оновлення дашбордів.
+ * Події потрапляють у потік лише після коміту транзакції. Останні події зберігаються
+ * в кільцевому буфері, тож клієнт може продовжити з Last-Event-ID. Кожен клієнт має
+ * обмежену чергу та власну задачу відправки (SseBroadcaster): клієнт, що не встигає вичитувати
+ * чергу або не приймає подію довше supply.changes.send-timeout, відключається і перепідключається з курсором.
+ */
+@Service
+@Slf4j
+public class SupplyItemChangeFeedService {
+
+    private final SupplyItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Останні події для відновлення з курсора, не більше bufferSize
+    private final Deque<SupplyItemChangeDTO> buffer = new ArrayDeque<>();
+    // Відправка з окремих задач, щоб клієнти не гальмували коміт запиту
+    private final SseBroadcaster<SupplyItemChangeDTO> broadcaster;
+    // ID подій, буфер і нові підписки змінюються під lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private long sequence;
+
+    @Value("${supply.changes.buffer-size:10000}")
+    private int bufferSize;
+
+    @Value("${supply.changes.sse-timeout:PT30M}")
+    private Duration sseTimeout;
+
+    public SupplyItemChangeFeedService(SupplyItemRepository itemRepository,
+                                       ApplicationEventPublisher eventPublisher,
+                                       @Value("${supply.changes.client-buffer-size:10000}") int clientBufferSize,
+                                       @Value("${supply.changes.send-timeout:PT10S}") Duration sendTimeout,
+                                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.itemRepository = itemRepository;
+        this.eventPublisher = eventPublisher;
+        this.broadcaster = new SseBroadcaster<>("supply-item-changes", change -> SseEmitter.event()
+                .id(String.valueOf(change.getId()))
+                .name(change.getType().name())
+                .data(change), clientBufferSize, sendTimeout, virtualThreads);
+    }
+
+    /**
+     * Змінено матеріал (item = null для DELETED); викликається всередині транзакції зміни
+     */
+    public void onChanged(SupplyItemChangeType type, Long itemId, SupplyItemResponseDTO item) {
+        eventPublisher.publishEvent(new SupplyItemChangeDTO(null, type, itemId, item, LocalDateTime.now()));
+    }
+
+    /**
+     * Масова зміна статусу з міткою часу updatedAt: стан змінених рядків читається одним запитом
+     */
+    public void onStatusChangedAll(Collection<Long> ids, ItemStatus status, LocalDateTime updatedAt) {
+        for (SupplyItemResponseDTO item : itemRepository.findResponses(
+                SupplyItemSpecifications.updatedBy(ids, status, updatedAt), null)) {
+            onChanged(SupplyItemChangeType.UPDATED, item.getId(), item);
+        }
+    }
+
+    /**
+     * Масово змінено матеріали з ids: поточний стан читається одним запитом
+     */
+    public void onUpdatedAll(Collection<Long> ids) {
+        for (SupplyItemResponseDTO item : itemRepository.findResponses(SupplyItemSpecifications.idIn(ids), null)) {
+            onChanged(SupplyItemChangeType.UPDATED, item.getId(), item);
+        }
+    }
+
+    /**
+     * Зафіксувати подію після коміту: присвоїти ID, зберегти в буфері та розіслати клієнтам
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(SupplyItemChangeDTO change) {
+        lock.lock();
+        try {
+            change.setId(++sequence);
+
+            buffer.addLast(change);
+            while (buffer.size() > bufferSize) {
+                buffer.removeFirst();
+            }
+
+            broadcaster.publish(change);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Підписка на зміни. lastEventId - ID останньої отриманої події (null - лише нові події).
+     * Якщо пропущено більше подій, ніж зберігається або вміщує черга клієнта,
+     * першою надсилається подія RESET з ID, від якого потік продовжується.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(sseTimeout.toMillis());
+        List<SupplyItemChangeDTO> initial = new ArrayList<>();
+
+        lock.lock();
+        try {
+            if (lastEventId != null && lastEventId != sequence) {
+                List<SupplyItemChangeDTO> missed = new ArrayList<>();
+                for (SupplyItemChangeDTO change : buffer) {
+                    if (change.getId() > lastEventId) {
+                        missed.add(change);
+                    }
+                }
+
+                boolean complete = !missed.isEmpty() && missed.get(0).getId() == lastEventId + 1;
+                if (complete && missed.size() <= broadcaster.capacity()) {
+                    initial = missed;
+                } else {
+                    log.info("Supply item change feed cannot resume from event {}, sending reset", lastEventId);
+                    initial.add(new SupplyItemChangeDTO(sequence, SupplyItemChangeType.RESET,
+                            null, null, LocalDateTime.now()));
+                }
+            }
+
+            // Під тим самим lock, що й onChange: між пропущеними і новими подіями немає розриву
+            broadcaster.subscribe(emitter, initial);
+        } finally {
+            lock.unlock();
+        }
+
+        log.debug("Supply item change feed subscriber added (last event ID: {}), total: {}",
+                lastEventId, broadcaster.size());
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.shutdown();
+    }
+}
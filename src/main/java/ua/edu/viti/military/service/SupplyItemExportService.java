@@ -0,0 +1,172 @@
+package ua.edu.viti.military.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.dataformat.csv.CsvMapper;
+import ua.edu.viti.military.dto.FileFormat;
+import ua.edu.viti.military.dto.SupplyItemExportDTO;
+import ua.edu.viti.military.dto.SupplyItemFilterDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Потоковий експорт матеріалів у CSV/NDJSON.
+ * Рядки читаються forward-only JDBC-курсором і одразу пишуться у вихідний потік,
+ * тому використання heap не залежить від кількості записів.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SupplyItemExportService {
+
+    private static final String EXPORT_SQL =
+            "SELECT si.id, si.name, si.batch_number, si.category_id, c.code AS category_code, " +
+            "si.quantity, si.unit, si.expiration_date, si.hazard_class, si.storage_conditions, " +
+            "si.warehouse_id, w.code AS warehouse_code, si.status, si.created_at, si.updated_at " +
+            "FROM supply_items si " +
+            "JOIN supply_categories c ON c.id = si.category_id " +
+            "LEFT JOIN warehouses w ON w.id = si.warehouse_id " +
+            "WHERE 1 = 1";
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+
+    /**
+     * Перевірити фільтр до початку відповіді: після того як статус і заголовки відправлено,
+     * помилка фільтра вже не може стати відповіддю 400
+     */
+    public void validate(SupplyItemFilterDTO filter) {
+        SupplyItemService.validateFilter(filter);
+    }
+
+    /**
+     * Експортувати матеріали, що відповідають фільтру (перевіреному validate), у вихідний потік
+     */
+    @Transactional(readOnly = true)
+    public long export(SupplyItemFilterDTO filter, FileFormat format, boolean gzip,
+                       OutputStream output) throws IOException {
+        log.info("Exporting supply items as {} (gzip: {}) with filter: {}", format, gzip, filter);
+
+        long startNanos = System.nanoTime();
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = EXPORT_SQL + buildWhere(filter, params) + " ORDER BY si.id";
+
+        OutputStream target = gzip ? new GZIPOutputStream(output, GZIP_BUFFER_SIZE) : output;
+        long[] rows = {0};
+
+        try (SequenceWriter writer = openWriter(format, target)) {
+            jdbcTemplate.query(sql, params, (RowCallbackHandler) rs -> {
+                Date expirationDate = rs.getDate("expiration_date");
+                Timestamp createdAt = rs.getTimestamp("created_at");
+                Timestamp updatedAt = rs.getTimestamp("updated_at");
+
+                writer.write(new SupplyItemExportDTO(
+                        rs.getLong("id"),
+                        rs.getString("name"),
+                        rs.getString("batch_number"),
+                        rs.getLong("category_id"),
+                        rs.getString("category_code"),
+                        rs.getInt("quantity"),
+                        rs.getString("unit"),
+                        expirationDate != null ? expirationDate.toLocalDate() : null,
+                        rs.getString("hazard_class"),
+                        rs.getString("storage_conditions"),
+                        rs.getObject("warehouse_id", Long.class),
+                        rs.getString("warehouse_code"),
+                        rs.getString("status"),
+                        createdAt != null ? createdAt.toLocalDateTime() : null,
+                        updatedAt != null ? updatedAt.toLocalDateTime() : null
+                ));
+                rows[0]++;
+            });
+
+            if (format == FileFormat.NDJSON && rows[0] > 0) {
+                // SequenceWriter ставить роздільник лише між значеннями
+                writer.flush();
+                target.write('\n');
+            }
+        }
+
+        if (target instanceof GZIPOutputStream gzipOutput) {
+            gzipOutput.finish();
+        }
+        target.flush();
+
+        log.info("Exported {} supply items in {} ms", rows[0], (System.nanoTime() - startNanos) / 1_000_000);
+        return rows[0];
+    }
+
+    /**
+     * SequenceWriter потрібного формату (не закриває вихідний потік)
+     */
+    private SequenceWriter openWriter(FileFormat format, OutputStream target) {
+        if (format == FileFormat.CSV) {
+            return csvMapper.writerFor(SupplyItemExportDTO.class)
+                    .with(csvMapper.schemaFor(SupplyItemExportDTO.class).withHeader())
+                    .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                    .writeValues(target);
+        }
+
+        return objectMapper.writerFor(SupplyItemExportDTO.class)
+                .withRootValueSeparator("\n")
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .writeValues(target);
+    }
+
+    /**
+     * Ті самі критерії, що й у SupplyItemSpecifications.matches, у вигляді SQL
+     */
+    private String buildWhere(SupplyItemFilterDTO filter, MapSqlParameterSource params) {
+        StringBuilder where = new StringBuilder();
+
+        if (filter.getStatus() != null) {
+            where.append(" AND si.status = :status");
+            params.addValue("status", filter.getStatus().name());
+        }
+        if (filter.getCategoryId() != null) {
+            where.append(" AND si.category_id = :categoryId");
+            params.addValue("categoryId", filter.getCategoryId());
+        }
+        if (filter.getWarehouseId() != null) {
+            where.append(" AND si.warehouse_id = :warehouseId");
+            params.addValue("warehouseId", filter.getWarehouseId());
+        }
+        if (filter.getHazardClass() != null) {
+            where.append(" AND si.hazard_class = :hazardClass");
+            params.addValue("hazardClass", filter.getHazardClass().name());
+        }
+        if (filter.getExpiresFrom() != null) {
+            where.append(" AND si.expiration_date >= :expiresFrom");
+            params.addValue("expiresFrom", filter.getExpiresFrom());
+        }
+        if (filter.getExpiresTo() != null) {
+            where.append(" AND si.expiration_date <= :expiresTo");
+            params.addValue("expiresTo", filter.getExpiresTo());
+        }
+        if (filter.getMinQuantity() != null) {
+            where.append(" AND si.quantity >= :minQuantity");
+            params.addValue("minQuantity", filter.getMinQuantity());
+        }
+        if (filter.getMaxQuantity() != null) {
+            where.append(" AND si.quantity <= :maxQuantity");
+            params.addValue("maxQuantity", filter.getMaxQuantity());
+        }
+
+        return where.toString();
+    }
+}
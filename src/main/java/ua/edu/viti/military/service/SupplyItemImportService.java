@@ -0,0 +1,205 @@
+package ua.edu.viti.military.service;
+
+import jakarta.persistence.PersistenceException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.DatabindException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.csv.CsvMapper;
+import tools.jackson.dataformat.csv.CsvSchema;
+import ua.edu.viti.military.dto.BulkImportErrorDTO;
+import ua.edu.viti.military.dto.BulkImportResultDTO;
+import ua.edu.viti.military.dto.FileFormat;
+import ua.edu.viti.military.dto.ImportReportDTO;
+import ua.edu.viti.military.dto.SupplyItemCreateDTO;
+import ua.edu.viti.military.exception.BusinessLogicException;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Потоковий імпорт матеріалів з CSV/NDJSON.
+ * Файл читається по одному рядку, рядки накопичуються порціями і кожна порція
+ * зберігається окремою транзакцією через SupplyItemService.bulkCreate,
+ * тому пам'ять не залежить від розміру файлу, а помилка в одній порції
+ * не відкочує вже збережені: її рядки потрапляють у звіт як помилкові, імпорт триває.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SupplyItemImportService {
+
+    // Максимальна кількість помилок, що повертаються у звіті
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    // Як часто (у рядках) логувати прогрес імпорту
+    private static final long PROGRESS_LOG_INTERVAL = 100_000;
+
+    private final SupplyItemService itemService;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+
+    @Value("${supply.import.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Визначити формат файлу за розширенням
+     */
+    public static FileFormat detectFormat(String fileName) {
+        String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+
+        if (name.endsWith(".csv")) {
+            return FileFormat.CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return FileFormat.NDJSON;
+        }
+
+        throw new BusinessLogicException(
+                "Не вдалося визначити формат файлу '" + fileName + "', вкажіть параметр format"
+        );
+    }
+
+    /**
+     * Імпортувати матеріали з потоку
+     */
+    public ImportReportDTO importItems(InputStream input, FileFormat format) {
+        log.info("Starting {} import of supply items, chunk size: {}", format, chunkSize);
+
+        if (chunkSize < 1 || chunkSize > SupplyItemService.MAX_BULK_SIZE) {
+            throw new IllegalStateException(
+                    "supply.import.chunk-size must be between 1 and " + SupplyItemService.MAX_BULK_SIZE);
+        }
+
+        long startNanos = System.nanoTime();
+        ImportReportDTO report = new ImportReportDTO();
+        report.setErrors(new ArrayList<>());
+
+        List<SupplyItemCreateDTO> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkRows = new ArrayList<>(chunkSize);
+        long rowNumber = 0;
+
+        try (MappingIterator<SupplyItemCreateDTO> rows = openReader(input, format)) {
+            while (rows.hasNextValue()) {
+                rowNumber++;
+
+                SupplyItemCreateDTO dto;
+                try {
+                    dto = rows.nextValue();
+                } catch (DatabindException e) {
+                    // Рядок синтаксично коректний, але не відповідає структурі DTO
+                    addError(report, new BulkImportErrorDTO(rowNumber, null, e.getOriginalMessage()));
+                    continue;
+                }
+
+                chunk.add(dto);
+                chunkRows.add(rowNumber);
+
+                if (chunk.size() >= chunkSize) {
+                    writeChunk(chunk, chunkRows, report);
+                }
+
+                if (rowNumber % PROGRESS_LOG_INTERVAL == 0) {
+                    log.info("Import progress: {} rows read, {} imported, {} rows/sec",
+                            rowNumber, report.getImported(), rowsPerSecond(rowNumber, startNanos));
+                }
+            }
+        } catch (JacksonException e) {
+            // Пошкоджений файл: все, що збережено до цього моменту, залишається в базі
+            log.error("Import aborted at row {}: {}", rowNumber, e.getOriginalMessage());
+            report.setAborted(true);
+            addError(report, new BulkImportErrorDTO(rowNumber, null,
+                    "Неможливо розібрати файл: " + e.getOriginalMessage()));
+        }
+
+        writeChunk(chunk, chunkRows, report);
+
+        long durationNanos = System.nanoTime() - startNanos;
+        report.setTotalRows(rowNumber);
+        report.setDurationMs(durationNanos / 1_000_000);
+        report.setRowsPerSecond(rowsPerSecond(rowNumber, startNanos));
+
+        log.info("Import finished: {} rows, {} imported, {} failed in {} ms ({} rows/sec)",
+                report.getTotalRows(), report.getImported(), report.getFailed(),
+                report.getDurationMs(), report.getRowsPerSecond());
+
+        return report;
+    }
+
+    /**
+     * Послідовний reader рядків потрібного формату
+     */
+    private MappingIterator<SupplyItemCreateDTO> openReader(InputStream input, FileFormat format) {
+        if (format == FileFormat.CSV) {
+            return csvMapper.readerFor(SupplyItemCreateDTO.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(input);
+        }
+
+        return objectMapper.readerFor(SupplyItemCreateDTO.class)
+                .readValues(input);
+    }
+
+    /**
+     * Зберегти порцію рядків окремою транзакцією та перенести помилки у звіт
+     */
+    private void writeChunk(List<SupplyItemCreateDTO> chunk, List<Long> chunkRows, ImportReportDTO report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        BulkImportResultDTO result;
+        try {
+            result = itemService.bulkCreate(chunk);
+        } catch (DataAccessException | PersistenceException | TransactionException e) {
+            // Порцію відкочено (наприклад, номер партії щойно зайняв інший запит або збій бази):
+            // усі її рядки позначаються помилковими, імпорт продовжується з наступної порції
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Import chunk of rows {}-{} failed: {}",
+                    chunkRows.get(0), chunkRows.get(chunkRows.size() - 1), cause);
+
+            for (int i = 0; i < chunk.size(); i++) {
+                SupplyItemCreateDTO dto = chunk.get(i);
+                addError(report, new BulkImportErrorDTO(chunkRows.get(i), dto != null ? dto.getBatchNumber() : null,
+                        "Порцію рядків не збережено: " + cause));
+            }
+
+            chunk.clear();
+            chunkRows.clear();
+            return;
+        }
+
+        report.setImported(report.getImported() + result.getCreated());
+        for (BulkImportErrorDTO error : result.getErrors()) {
+            // Номер рядка в порції -> номер рядка у файлі
+            error.setRow(chunkRows.get((int) error.getRow() - 1));
+            addError(report, error);
+        }
+
+        chunk.clear();
+        chunkRows.clear();
+    }
+
+    private void addError(ImportReportDTO report, BulkImportErrorDTO error) {
+        report.setFailed(report.getFailed() + 1);
+
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(error);
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    private double rowsPerSecond(long rows, long startNanos) {
+        long elapsedNanos = Math.max(System.nanoTime() - startNanos, 1);
+        return Math.round(rows * 1_000_000_000.0 / elapsedNanos * 10) / 10.0;
+    }
+}
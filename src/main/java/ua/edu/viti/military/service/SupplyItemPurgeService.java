@@ -0,0 +1,290 @@
+package ua.edu.viti.military.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.edu.viti.military.dto.ItemStockStateDTO;
+import ua.edu.viti.military.dto.SupplyItemChangeType;
+import ua.edu.viti.military.dto.SupplyItemPurgeStatusDTO;
+import ua.edu.viti.military.entity.ItemStatus;
+import ua.edu.viti.military.entity.SupplyItem;
+import ua.edu.viti.military.exception.BusinessLogicException;
+import ua.edu.viti.military.repository.SupplyItemRepository;
+import ua.edu.viti.military.repository.SupplyItemSpecifications;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Очищення історії: видалення прострочених матеріалів (EXPIRED),
+ * що не змінювались довше заданого віку. Виконується у фоні порціями - кожна порція окрема
+ * транзакція з одним DELETE по ID - з обмеженням швидкості, щоб не витісняти звичайні запити.
+ * Прогрес доступний через getStatus(). Одночасно виконується лише на одному вузлі (job_locks).
+ */
+@Service
+@Slf4j
+public class SupplyItemPurgeService {
+
+    static final String JOB_NAME = "supply-item-purge";
+    // Видані та списані матеріали зберігаються для аудиту і не видаляються, а переносяться
+    // в архів (SupplyItemArchiveService)
+    static final Set<ItemStatus> PURGEABLE_STATUSES = EnumSet.of(ItemStatus.EXPIRED);
+
+    // Кількість ID, що читаються одним запитом
+    private static final int ID_PAGE_SIZE = 50_000;
+
+    private final SupplyItemRepository itemRepository;
+    private final StockAggregateService stockAggregateService;
+    private final WarehouseOccupancyService occupancyService;
+    private final StockLedgerService stockLedgerService;
+    private final SupplyItemChangeFeedService changeFeedService;
+    private final JobLockService jobLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "supply-item-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Стан поточного або останнього запуску; змінюється та читається лише під lock
+    private final SupplyItemPurgeStatusDTO status = new SupplyItemPurgeStatusDTO();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Value("${supply.purge.retention:P365D}")
+    private Duration retention;
+
+    @Value("${supply.purge.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${supply.purge.max-rows-per-second:5000}")
+    private int maxRowsPerSecond;
+
+    @Value("${supply.purge.lock-at-most:PT2H}")
+    private Duration lockAtMostFor;
+
+    public SupplyItemPurgeService(SupplyItemRepository itemRepository,
+                                  StockAggregateService stockAggregateService,
+                                  WarehouseOccupancyService occupancyService,
+                                  StockLedgerService stockLedgerService,
+                                  SupplyItemChangeFeedService changeFeedService,
+                                  JobLockService jobLockService,
+                                  PlatformTransactionManager transactionManager) {
+        this.itemRepository = itemRepository;
+        this.stockAggregateService = stockAggregateService;
+        this.occupancyService = occupancyService;
+        this.stockLedgerService = stockLedgerService;
+        this.changeFeedService = changeFeedService;
+        this.jobLockService = jobLockService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Запустити очищення у фоні; olderThan = null - вік із supply.purge.retention
+     */
+    public SupplyItemPurgeStatusDTO start(Duration olderThan) {
+        Duration age = olderThan != null ? olderThan : retention;
+        if (age.isNegative()) {
+            throw new BusinessLogicException("Вік записів для очищення не може бути від'ємним");
+        }
+
+        lock.lock();
+        try {
+            if (status.isRunning()) {
+                throw new BusinessLogicException("Очищення вже виконується");
+            }
+
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+            LocalDateTime updatedBefore = now.minus(age);
+
+            status.setRunning(true);
+            status.setUpdatedBefore(updatedBefore);
+            status.setDeleted(0);
+            status.setChunks(0);
+            status.setStartedAt(now);
+            status.setFinishedAt(null);
+            status.setSkipped(false);
+            status.setError(null);
+
+            executor.execute(() -> run(updatedBefore));
+            return getStatus();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Прогрес поточного або результат останнього запуску
+     */
+    public SupplyItemPurgeStatusDTO getStatus() {
+        lock.lock();
+        try {
+            return new SupplyItemPurgeStatusDTO(status.isRunning(), status.getUpdatedBefore(), status.getDeleted(),
+                    status.getChunks(), status.getStartedAt(), status.getFinishedAt(), status.isSkipped(),
+                    status.getError());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Плановий запуск (за замовчуванням вимкнений)
+     */
+    @Scheduled(cron = "${supply.purge.cron:-}")
+    public void scheduledPurge() {
+        try {
+            start(null);
+        } catch (BusinessLogicException e) {
+            log.info("Supply item purge is already running, skipping scheduled run");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(LocalDateTime updatedBefore) {
+        boolean skipped = false;
+        String error = null;
+
+        try {
+            Optional<Long> deleted = jobLockService.runLocked(JOB_NAME, lockAtMostFor,
+                    () -> purgeUpdatedBefore(updatedBefore));
+            skipped = deleted.isEmpty();
+        } catch (RuntimeException e) {
+            log.error("Supply item purge failed", e);
+            error = e.getMessage();
+        }
+
+        lock.lock();
+        try {
+            status.setRunning(false);
+            status.setFinishedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+            status.setSkipped(skipped);
+            status.setError(error);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long purgeUpdatedBefore(LocalDateTime updatedBefore) {
+        log.info("Purging {} supply items updated before {} (chunk size: {}, max {} rows/s)",
+                PURGEABLE_STATUSES, updatedBefore, chunkSize, maxRowsPerSecond);
+
+        Specification<SupplyItem> spec = SupplyItemSpecifications.statusInUpdatedBefore(
+                PURGEABLE_STATUSES, updatedBefore);
+
+        long startNanos = System.nanoTime();
+        long deleted = 0;
+        int chunks = 0;
+        long afterId = 0;
+
+        while (true) {
+            List<Long> page = itemRepository.findIds(
+                    spec.and(SupplyItemSpecifications.idGreaterThan(afterId)), ID_PAGE_SIZE);
+            if (page.isEmpty()) {
+                break;
+            }
+
+            for (int from = 0; from < page.size(); from += chunkSize) {
+                List<Long> ids = page.subList(from, Math.min(from + chunkSize, page.size()));
+                Integer count = transactionTemplate.execute(tx -> deleteChunk(
+                        spec.and(SupplyItemSpecifications.idIn(ids))));
+                deleted += count != null ? count : 0;
+                chunks++;
+
+                lock.lock();
+                try {
+                    status.setDeleted(deleted);
+                    status.setChunks(chunks);
+                } finally {
+                    lock.unlock();
+                }
+
+                if (!throttle(startNanos, deleted)) {
+                    log.info("Supply item purge interrupted after {} items", deleted);
+                    return deleted;
+                }
+            }
+
+            // Неповна сторінка - відповідних рядків більше немає
+            if (page.size() < ID_PAGE_SIZE) {
+                break;
+            }
+            afterId = page.get(page.size() - 1);
+        }
+
+        long durationMs = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("Supply item purge finished: {} items deleted in {} chunks, {} ms", deleted, chunks, durationMs);
+        return deleted;
+    }
+
+    /**
+     * Одна порція. Рядки блокуються SELECT ... FOR UPDATE з повторною перевіркою статусу та віку,
+     * тож матеріал, змінений після вибору ID, не видаляється.
+     */
+    private int deleteChunk(Specification<SupplyItem> spec) {
+        List<ItemStockStateDTO> states = itemRepository.lockStockStates(spec);
+        if (states.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = new ArrayList<>(states.size());
+        List<StockAggregateService.StockChange> changes = new ArrayList<>(states.size());
+        for (ItemStockStateDTO state : states) {
+            ids.add(state.getId());
+            changes.add(new StockAggregateService.StockChange(state.getId(),
+                    StockAggregateService.StockSnapshot.of(state), null));
+        }
+
+        itemRepository.deleteAllByIdInBatch(ids);
+
+        // Сповіщення про дефіцит стосуються лише IN_STOCK, тож для прострочених матеріалів їх немає
+        occupancyService.onChangedAll(changes);
+        stockAggregateService.onChangedAll(changes);
+        stockLedgerService.onChangedAll(changes);
+        for (Long id : ids) {
+            changeFeedService.onChanged(SupplyItemChangeType.DELETED, id, null);
+        }
+
+        log.debug("Purged {} supply items", ids.size());
+        return ids.size();
+    }
+
+    /**
+     * Пауза, щоб середня швидкість не перевищувала maxRowsPerSecond; false - потік перервано
+     */
+    private boolean throttle(long startNanos, long processed) {
+        if (maxRowsPerSecond <= 0) {
+            return !Thread.currentThread().isInterrupted();
+        }
+
+        long expectedNanos = processed * 1_000_000_000L / maxRowsPerSecond;
+        long sleepMs = (expectedNanos - (System.nanoTime() - startNanos)) / 1_000_000;
+        if (sleepMs <= 0) {
+            return !Thread.currentThread().isInterrupted();
+        }
+
+        try {
+            Thread.sleep(sleepMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
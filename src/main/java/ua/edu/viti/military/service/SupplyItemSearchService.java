@@ -0,0 +1,348 @@
+package ua.edu.viti.military.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.CharArraySet;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ua.edu.viti.military.dto.SupplyItemChangeDTO;
+import ua.edu.viti.military.dto.SupplyItemChangeType;
+import ua.edu.viti.military.dto.SupplyItemResponseDTO;
+import ua.edu.viti.military.dto.SupplyItemSearchResultDTO;
+import ua.edu.viti.military.exception.BusinessLogicException;
+import ua.edu.viti.military.repository.SupplyItemRepository;
+import ua.edu.viti.military.repository.SupplyItemSpecifications;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Повнотекстовий пошук матеріалів по назві, номеру партії та умовам зберігання
+ * (вбудований індекс Lucene). Індекс будується з бази при старті, а далі оновлюється
+ * інкрементально подіями потоку змін (SupplyItemChangeFeedService) після коміту.
+ * Нові документи стають видимими для пошуку не пізніше ніж через supply.search.refresh-interval.
+ */
+@Service
+@Slf4j
+public class SupplyItemSearchService {
+
+    public static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MAX_QUERY_LENGTH = 200;
+    private static final int MAX_QUERY_TERMS = 10;
+    // Нечіткий пошук лише для слів від 4 символів; перший символ має збігатися (менше термів для перебору)
+    private static final int FUZZY_MIN_LENGTH = 4;
+    private static final int FUZZY_TWO_EDITS_MIN_LENGTH = 8;
+    private static final int FUZZY_PREFIX_LENGTH = 1;
+    // Більший буфер - менше дрібних сегментів і злиттів при перебудові
+    private static final double RAM_BUFFER_MB = 128;
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_NAME = "name";
+    // Номер партії цілком (для префікса "BK-2024-0") і по частинах (для "0042")
+    private static final String FIELD_BATCH = "batch";
+    private static final String FIELD_BATCH_TOKENS = "batchTokens";
+    private static final String FIELD_STORAGE = "storage";
+
+    private static final String REBUILD_SQL =
+            "SELECT id, name, batch_number, storage_conditions FROM supply_items";
+
+    private final SupplyItemRepository itemRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    // Без стоп-слів: у назвах матеріалів значуще кожне слово
+    private final Analyzer analyzer = new StandardAnalyzer(CharArraySet.EMPTY_SET);
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    // ID, змінені подіями під час перебудови: їхній стан в індексі вже не старіший за прочитаний з бази
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    public SupplyItemSearchService(SupplyItemRepository itemRepository,
+                                   JdbcTemplate jdbcTemplate,
+                                   @Value("${supply.search.index-path:}") String indexPath) {
+        this.itemRepository = itemRepository;
+        this.jdbcTemplate = jdbcTemplate;
+
+        try {
+            this.directory = indexPath.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexPath));
+            // Індекс завжди перебудовується з бази, тож попередній вміст каталогу не потрібен
+            this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE)
+                    .setRAMBufferSizeMB(RAM_BUFFER_MB));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Оновити індекс після коміту зміни матеріалу
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(SupplyItemChangeDTO change) {
+        if (change.getItemId() == null) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.add(change.getItemId());
+        }
+
+        try {
+            if (change.getType() == SupplyItemChangeType.DELETED) {
+                writer.deleteDocuments(idTerm(change.getItemId()));
+            } else if (change.getItem() != null) {
+                SupplyItemResponseDTO item = change.getItem();
+                writer.updateDocument(idTerm(item.getId()), toDocument(item.getId(), item.getName(),
+                        item.getBatchNumber(), item.getStorageConditions()));
+            }
+        } catch (IOException e) {
+            // Зміна вже закомічена; індекс виправить наступна перебудова
+            log.error("Failed to update search index for supply item ID: {}", change.getItemId(), e);
+        }
+    }
+
+    /**
+     * Пошук по префіксах слів (і з опечатками, якщо fuzzy = true), впорядкований за релевантністю
+     */
+    @Transactional(readOnly = true)
+    public SupplyItemSearchResultDTO search(String text, boolean fuzzy, int limit) {
+        log.debug("Searching supply items: '{}' (fuzzy: {}, limit: {})", text, fuzzy, limit);
+
+        if (text == null || text.isBlank()) {
+            throw new BusinessLogicException("Пошуковий запит не може бути порожнім");
+        }
+        if (text.length() > MAX_QUERY_LENGTH) {
+            throw new BusinessLogicException(
+                    "Пошуковий запит не може бути довшим за " + MAX_QUERY_LENGTH + " символів"
+            );
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new BusinessLogicException(
+                    "Кількість результатів має бути від 1 до " + MAX_SEARCH_LIMIT
+            );
+        }
+
+        long startNanos = System.nanoTime();
+        Query query = buildQuery(text.trim(), fuzzy);
+
+        List<Long> ids = new ArrayList<>(limit);
+        TotalHits totalHits;
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query, limit);
+                StoredFields storedFields = searcher.storedFields();
+                for (ScoreDoc hit : top.scoreDocs) {
+                    ids.add(Long.valueOf(storedFields.document(hit.doc).get(FIELD_ID)));
+                }
+                totalHits = top.totalHits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        List<SupplyItemResponseDTO> items = List.of();
+        if (!ids.isEmpty()) {
+            Map<Long, SupplyItemResponseDTO> byId = itemRepository
+                    .findResponses(SupplyItemSpecifications.idIn(ids), null).stream()
+                    .collect(Collectors.toMap(SupplyItemResponseDTO::getId, Function.identity()));
+            // Порядок релевантності з індексу; матеріал, видалений після пошуку, пропускається
+            items = ids.stream()
+                    .map(byId::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        }
+
+        long tookMs = (System.nanoTime() - startNanos) / 1_000_000;
+        return new SupplyItemSearchResultDTO(text, totalHits.value,
+                totalHits.relation == TotalHits.Relation.EQUAL_TO, tookMs, items);
+    }
+
+    /**
+     * Перебудувати індекс з supply_items (JDBC-курсором, без завантаження всіх рядків у heap)
+     */
+    public long rebuild() {
+        log.info("Rebuilding supply item search index");
+
+        long startNanos = System.nanoTime();
+        long[] rows = {0};
+
+        rebuilding = true;
+        try {
+            writer.deleteAll();
+            jdbcTemplate.query(REBUILD_SQL, (RowCallbackHandler) rs -> {
+                long id = rs.getLong("id");
+                if (changedDuringRebuild.contains(id)) {
+                    return;
+                }
+                try {
+                    // Після deleteAll документ з цим ID міг додати лише обробник подій, а такі ID пропускаються
+                    writer.addDocument(toDocument(id, rs.getString("name"),
+                            rs.getString("batch_number"), rs.getString("storage_conditions")));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            });
+            writer.commit();
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            rebuilding = false;
+            changedDuringRebuild.clear();
+        }
+
+        log.info("Supply item search index rebuilt: {} items in {} ms",
+                rows[0], (System.nanoTime() - startNanos) / 1_000_000);
+        return rows[0];
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    /**
+     * Зробити видимими для пошуку зміни, додані після попереднього оновлення.
+     * Під час перебудови пропускається: кожне оновлення скидає буфер у новий дрібний сегмент
+     */
+    @Scheduled(fixedDelayString = "${supply.search.refresh-interval:PT0.1S}")
+    public void refresh() throws IOException {
+        if (!rebuilding) {
+            searcherManager.maybeRefresh();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Усі слова запиту мають знайтися (у будь-якому з полів) або весь запит - бути префіксом номера партії
+     */
+    private Query buildQuery(String text, boolean fuzzy) {
+        List<String> terms = analyze(text);
+        if (terms.size() > MAX_QUERY_TERMS) {
+            throw new BusinessLogicException(
+                    "Пошуковий запит не може містити більше " + MAX_QUERY_TERMS + " слів"
+            );
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        query.add(new BoostQuery(new PrefixQuery(new Term(FIELD_BATCH, text.toLowerCase(Locale.ROOT))), 4f),
+                BooleanClause.Occur.SHOULD);
+
+        if (!terms.isEmpty()) {
+            BooleanQuery.Builder allTerms = new BooleanQuery.Builder();
+            for (String term : terms) {
+                BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+                addTermQueries(anyField, FIELD_NAME, term, 3f, fuzzy);
+                addTermQueries(anyField, FIELD_BATCH_TOKENS, term, 2f, false);
+                addTermQueries(anyField, FIELD_STORAGE, term, 1f, fuzzy);
+                allTerms.add(anyField.build(), BooleanClause.Occur.MUST);
+            }
+            query.add(allTerms.build(), BooleanClause.Occur.SHOULD);
+        }
+
+        return query.build();
+    }
+
+    /**
+     * Точний збіг слова важить більше за префікс, префікс - більше за нечіткий збіг
+     */
+    private static void addTermQueries(BooleanQuery.Builder builder, String field, String term,
+                                       float boost, boolean fuzzy) {
+        Term t = new Term(field, term);
+        builder.add(new BoostQuery(new TermQuery(t), boost * 2), BooleanClause.Occur.SHOULD);
+        builder.add(new BoostQuery(new PrefixQuery(t), boost), BooleanClause.Occur.SHOULD);
+
+        if (fuzzy && term.length() >= FUZZY_MIN_LENGTH) {
+            int maxEdits = term.length() >= FUZZY_TWO_EDITS_MIN_LENGTH ? 2 : 1;
+            builder.add(new BoostQuery(new FuzzyQuery(t, maxEdits, FUZZY_PREFIX_LENGTH), boost / 2),
+                    BooleanClause.Occur.SHOULD);
+        }
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(FIELD_NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private static Document toDocument(Long id, String name, String batchNumber, String storageConditions) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, id.toString(), Field.Store.YES));
+        document.add(new TextField(FIELD_NAME, name, Field.Store.NO));
+        document.add(new StringField(FIELD_BATCH, batchNumber.toLowerCase(Locale.ROOT), Field.Store.NO));
+        document.add(new TextField(FIELD_BATCH_TOKENS, batchNumber, Field.Store.NO));
+        if (storageConditions != null) {
+            document.add(new TextField(FIELD_STORAGE, storageConditions, Field.Store.NO));
+        }
+        return document;
+    }
+
+    private static Term idTerm(Long id) {
+        return new Term(FIELD_ID, id.toString());
+    }
+}
@@ -1,33 +1,78 @@
 package ua.edu.viti.military.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ua.edu.viti.military.dto.BulkImportErrorDTO;
+import ua.edu.viti.military.dto.BulkImportResultDTO;
+import ua.edu.viti.military.dto.CursorPageDTO;
+import ua.edu.viti.military.dto.ItemStockStateDTO;
+import ua.edu.viti.military.dto.ResourceVersionDTO;
 import ua.edu.viti.military.dto.SupplyCategoryResponseDTO;
+import ua.edu.viti.military.dto.SupplyItemChangeType;
 import ua.edu.viti.military.dto.SupplyItemCreateDTO;
+import ua.edu.viti.military.dto.SupplyItemFilterDTO;
 import ua.edu.viti.military.dto.SupplyItemResponseDTO;
+import ua.edu.viti.military.dto.SupplyItemTransferDTO;
+import ua.edu.viti.military.dto.SupplyItemTransferResultDTO;
 import ua.edu.viti.military.dto.SupplyItemUpdateDTO;
 import ua.edu.viti.military.entity.*;
 import ua.edu.viti.military.exception.BusinessLogicException;
 import ua.edu.viti.military.exception.DuplicateResourceException;
+import ua.edu.viti.military.exception.OptimisticLockConflictException;
 import ua.edu.viti.military.exception.ResourceNotFoundException;
 import ua.edu.viti.military.repository.SupplyCategoryRepository;
 import ua.edu.viti.military.repository.SupplyItemRepository;
+import ua.edu.viti.military.repository.SupplyItemSpecifications;
 import ua.edu.viti.military.repository.WarehouseRepository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SupplyItemService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_BULK_SIZE = 5000;
+
+    // Кількість записів між flush/clear при масовому створенні
+    private static final int BULK_FLUSH_SIZE = 500;
+    // Максимальна кількість значень у одному IN (...) при перевірці номерів партій
+    private static final int BATCH_NUMBER_LOOKUP_SIZE = 1000;
+
     private final SupplyItemRepository itemRepository;
     private final SupplyCategoryRepository categoryRepository;
     private final WarehouseRepository warehouseRepository;
+    private final StockAggregateService stockAggregateService;
+    private final StockLedgerService stockLedgerService;
+    private final LowStockAlertService lowStockAlertService;
+    private final WarehouseOccupancyService occupancyService;
+    private final SupplyItemChangeFeedService changeFeedService;
+    private final EntityManager entityManager;
+    private final Validator validator;
 
     /**
      * Створити новий матеріал
@@ -46,73 +91,234 @@ public class SupplyItemService {
         // Перевірка терміну придатності
         validateExpirationDate(dto.getExpirationDate());
 
-        // Завантаження категорії
-        SupplyCategory category = categoryRepository.findById(dto.getCategoryId())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Категорію з ID " + dto.getCategoryId() + " не знайдено"
-                ));
+        // Перевірка існування категорії та складу по кешу; сутності - лише посилання без SELECT
+        SupplyCategory category = categoryReference(dto.getCategoryId());
+        Warehouse warehouse = dto.getWarehouseId() != null ? warehouseReference(dto.getWarehouseId()) : null;
 
-        // Завантаження складу (опційно)
-        Warehouse warehouse = null;
-        if (dto.getWarehouseId() != null) {
-            warehouse = warehouseRepository.findById(dto.getWarehouseId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Склад з ID " + dto.getWarehouseId() + " не знайдено"
-                    ));
-        }
-
-        SupplyItem item = new SupplyItem();
-        item.setName(dto.getName());
-        item.setBatchNumber(dto.getBatchNumber());
-        item.setCategory(category);
-        item.setQuantity(dto.getQuantity());
-        item.setUnit(dto.getUnit());
-        item.setExpirationDate(dto.getExpirationDate());
-        item.setHazardClass(dto.getHazardClass());
-        item.setStorageConditions(dto.getStorageConditions());
-        item.setWarehouse(warehouse);
-        item.setStatus(dto.getStatus());
+        SupplyItem item = toEntity(dto, category, warehouse);
 
         SupplyItem saved = itemRepository.save(item);
+        StockAggregateService.StockSnapshot after = StockAggregateService.StockSnapshot.of(saved);
+        occupancyService.onChanged(null, after);
+        stockAggregateService.onCreated(saved);
+        stockLedgerService.onCreated(saved);
+        lowStockAlertService.onChanged(saved.getId(), null, after);
         log.info("Supply item created with ID: {}", saved.getId());
 
-        return toResponseDTO(saved);
+        // Одна проєкція замість ініціалізації посилань на категорію та склад
+        SupplyItemResponseDTO response = itemRepository.findResponseById(saved.getId()).orElseThrow();
+        changeFeedService.onChanged(SupplyItemChangeType.CREATED, saved.getId(), response);
+        return response;
+    }
+
+    /**
+     * Масове створення матеріалів з построковим звітом про помилки.
+     * Некоректні рядки пропускаються, решта зберігається JDBC-батчами.
+     */
+    @Transactional
+    public BulkImportResultDTO bulkCreate(List<SupplyItemCreateDTO> dtos) {
+        log.info("Bulk creating {} supply items", dtos.size());
+
+        if (dtos.size() > MAX_BULK_SIZE) {
+            throw new BusinessLogicException(
+                    "За один запит можна створити не більше " + MAX_BULK_SIZE + " матеріалів"
+            );
+        }
+
+        List<BulkImportErrorDTO> errors = new ArrayList<>();
+        Map<Integer, SupplyItemCreateDTO> validRows = new LinkedHashMap<>();
+        Set<String> batchNumbers = new HashSet<>();
+
+        // Bean Validation та дублікати номерів партій у межах самого запиту
+        for (int i = 0; i < dtos.size(); i++) {
+            SupplyItemCreateDTO dto = dtos.get(i);
+
+            String violation = validateRow(dto);
+            if (violation != null) {
+                errors.add(new BulkImportErrorDTO(i + 1, dto != null ? dto.getBatchNumber() : null, violation));
+                continue;
+            }
+
+            if (!batchNumbers.add(dto.getBatchNumber())) {
+                errors.add(new BulkImportErrorDTO(i + 1, dto.getBatchNumber(),
+                        "Номер партії '" + dto.getBatchNumber() + "' повторюється у запиті"));
+                continue;
+            }
+
+            validRows.put(i, dto);
+        }
+
+        // Довідкові дані та існуючі номери партій завантажуються один раз на весь імпорт
+        Set<String> existingBatchNumbers = findExistingBatchNumbers(batchNumbers);
+        Map<Long, SupplyCategory> categories = categoryRepository.findAllById(
+                        validRows.values().stream().map(SupplyItemCreateDTO::getCategoryId)
+                                .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(SupplyCategory::getId, Function.identity()));
+        Map<Long, Warehouse> warehouses = warehouseRepository.findAllById(
+                        validRows.values().stream().map(SupplyItemCreateDTO::getWarehouseId)
+                                .filter(Objects::nonNull).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Warehouse::getId, Function.identity()));
+
+        Map<Integer, SupplyItem> candidates = new LinkedHashMap<>();
+        // Місце, яке займуть нові матеріали, по складах
+        Map<Long, Long> occupancy = new TreeMap<>();
+
+        for (Map.Entry<Integer, SupplyItemCreateDTO> entry : validRows.entrySet()) {
+            int row = entry.getKey() + 1;
+            SupplyItemCreateDTO dto = entry.getValue();
+
+            if (existingBatchNumbers.contains(dto.getBatchNumber())) {
+                errors.add(new BulkImportErrorDTO(row, dto.getBatchNumber(),
+                        "Матеріал з номером партії '" + dto.getBatchNumber() + "' вже існує"));
+                continue;
+            }
+
+            SupplyCategory category = categories.get(dto.getCategoryId());
+            if (category == null) {
+                errors.add(new BulkImportErrorDTO(row, dto.getBatchNumber(),
+                        "Категорію з ID " + dto.getCategoryId() + " не знайдено"));
+                continue;
+            }
+
+            Warehouse warehouse = null;
+            if (dto.getWarehouseId() != null) {
+                warehouse = warehouses.get(dto.getWarehouseId());
+                if (warehouse == null) {
+                    errors.add(new BulkImportErrorDTO(row, dto.getBatchNumber(),
+                            "Склад з ID " + dto.getWarehouseId() + " не знайдено"));
+                    continue;
+                }
+            }
+
+            SupplyItem item = toEntity(dto, category, warehouse);
+            candidates.put(row, item);
+            if (warehouse != null && item.getStatus().isOnHand()) {
+                occupancy.merge(warehouse.getId(), (long) item.getQuantity(), Long::sum);
+            }
+        }
+
+        // Місце резервується одним умовним UPDATE на склад (у порядку ID); якщо його не вистачає
+        // для всіх рядків складу, ці рядки пропускаються
+        occupancy.forEach((warehouseId, amount) -> {
+            if (!occupancyService.tryReserve(warehouseId, amount)) {
+                candidates.entrySet().removeIf(candidate -> {
+                    SupplyItem item = candidate.getValue();
+                    if (item.getWarehouse() == null || !item.getWarehouse().getId().equals(warehouseId)
+                            || !item.getStatus().isOnHand()) {
+                        return false;
+                    }
+                    errors.add(new BulkImportErrorDTO(candidate.getKey(), item.getBatchNumber(),
+                            "Недостатньо вільного місця на складі з ID " + warehouseId + " для " + amount +
+                            " одиниць цього запиту"));
+                    return true;
+                });
+            }
+        });
+
+        List<SupplyItem> pending = new ArrayList<>(BULK_FLUSH_SIZE);
+        int created = 0;
+
+        for (SupplyItem item : candidates.values()) {
+            pending.add(item);
+            if (pending.size() >= BULK_FLUSH_SIZE) {
+                created += flushPending(pending);
+            }
+        }
+        created += flushPending(pending);
+
+
+        errors.sort(Comparator.comparingLong(BulkImportErrorDTO::getRow));
+        log.info("Bulk create finished: {} created, {} failed", created, errors.size());
+
+        return new BulkImportResultDTO(dtos.size(), created, errors.size(), errors);
     }
 
     /**
      * Отримати матеріал по ID
      */
+    @Transactional(readOnly = true)
     public SupplyItemResponseDTO getById(Long id) {
         log.debug("Fetching supply item with ID: {}", id);
 
-        SupplyItem item = itemRepository.findByIdWithDetails(id)
+        return itemRepository.findResponseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Матеріал з ID " + id + " не знайдено"
                 ));
+    }
 
-        return toResponseDTO(item);
+    /**
+     * Версія матеріалу для умовного GET (count = 0 - матеріалу немає)
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersionDTO getVersion(Long id) {
+        return itemRepository.findVersionById(id);
+    }
+
+    /**
+     * Версія відфільтрованого списку матеріалів для умовного GET
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersionDTO getVersion(SupplyItemFilterDTO filter) {
+        validateFilter(filter);
+
+        return itemRepository.findVersion(SupplyItemSpecifications.matches(filter));
     }
 
     /**
      * Отримати всі матеріали з фільтрацією
      */
-    public List<SupplyItemResponseDTO> getAll(ItemStatus status, Long categoryId) {
-        log.debug("Fetching all supply items with filters - status: {}, categoryId: {}",
-                status, categoryId);
+    @Transactional(readOnly = true)
+    public List<SupplyItemResponseDTO> getAll(SupplyItemFilterDTO filter) {
+        log.debug("Fetching all supply items with filter: {}", filter);
 
-        List<SupplyItem> items;
+        validateFilter(filter);
 
-        if (status != null) {
-            items = itemRepository.findByStatus(status);
-        } else if (categoryId != null) {
-            items = itemRepository.findByCategoryId(categoryId);
-        } else {
-            items = itemRepository.findAllWithDetails();
+        return itemRepository.findResponses(SupplyItemSpecifications.matches(filter), null);
+    }
+
+    /**
+     * Отримати сторінку матеріалів з фільтрацією (keyset-пагінація по ID)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<SupplyItemResponseDTO> getPage(SupplyItemFilterDTO filter, Long afterId, int size) {
+        log.debug("Fetching supply items page after ID: {}, size: {}, filter: {}", afterId, size, filter);
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessLogicException(
+                    "Розмір сторінки має бути від 1 до " + MAX_PAGE_SIZE
+            );
+        }
+        validateFilter(filter);
+
+        long cursor = afterId != null ? afterId : 0L;
+
+        Specification<SupplyItem> spec = SupplyItemSpecifications.matches(filter)
+                .and(SupplyItemSpecifications.idGreaterThan(cursor));
+
+        // Запитуємо на один запис більше, щоб визначити наявність наступної сторінки
+        List<SupplyItemResponseDTO> content = itemRepository.findResponses(spec, size + 1);
+
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
         }
 
-        return items.stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+        Long nextCursor = hasNext ? content.get(content.size() - 1).getId() : null;
+
+        return new CursorPageDTO<>(content, nextCursor, hasNext);
+    }
+
+    /**
+     * Потокова обробка всіх матеріалів без завантаження їх у пам'ять
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<SupplyItemResponseDTO> consumer) {
+        log.debug("Streaming all supply items");
+
+        // Проєкції не потрапляють у persistence context, тож він не росте під час читання
+        try (Stream<SupplyItemResponseDTO> items = itemRepository.streamAllResponses()) {
+            items.forEach(consumer);
+        }
     }
 
     /**
@@ -126,6 +332,15 @@ public class SupplyItemService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Матеріал з ID " + dto.getId() + " не знайдено"
                 ));
+        StockAggregateService.StockSnapshot before = StockAggregateService.StockSnapshot.of(item);
+
+        // Клієнт редагував застарілу версію - не затираємо чужі зміни
+        if (dto.getVersion() != null && !dto.getVersion().equals(item.getVersion())) {
+            throw new OptimisticLockConflictException(
+                    "Матеріал з ID " + dto.getId() + " було змінено (поточна версія " + item.getVersion() +
+                    ", у запиті " + dto.getVersion() + "), отримайте актуальні дані та повторіть запит"
+            );
+        }
 
         // Оновити тільки ті поля, що передані
         if (dto.getName() != null) {
@@ -154,21 +369,191 @@ public class SupplyItemService {
         }
 
         if (dto.getWarehouseId() != null) {
-            Warehouse warehouse = warehouseRepository.findById(dto.getWarehouseId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Склад з ID " + dto.getWarehouseId() + " не знайдено"
-                    ));
-            item.setWarehouse(warehouse);
+            item.setWarehouse(warehouseReference(dto.getWarehouseId()));
         }
 
         if (dto.getStatus() != null) {
             item.setStatus(dto.getStatus());
         }
 
-        SupplyItem updated = itemRepository.save(item);
+        // flush одразу: перевірка @Version виконується тут, і відповідь містить нову версію
+        SupplyItem updated = itemRepository.saveAndFlush(item);
+        StockAggregateService.StockSnapshot after = StockAggregateService.StockSnapshot.of(updated);
+        occupancyService.onChanged(before, after);
+        stockAggregateService.onChanged(before, updated);
+        stockLedgerService.onChanged(before, updated);
+        lowStockAlertService.onChanged(updated.getId(), before, after);
         log.info("Supply item with ID {} updated successfully", updated.getId());
 
-        return toResponseDTO(updated);
+        SupplyItemResponseDTO response = toResponseDTO(updated);
+        changeFeedService.onChanged(SupplyItemChangeType.UPDATED, updated.getId(), response);
+        return response;
+    }
+
+    /**
+     * Видати (списати) кількість з партії зі статусом IN_STOCK одним умовним UPDATE без читання сутності
+     */
+    @Transactional
+    public SupplyItemResponseDTO issue(Long id, int amount) {
+        log.info("Issuing {} from supply item with ID: {}", amount, id);
+
+        if (itemRepository.decrementQuantity(id, amount, LocalDateTime.now()) == 0) {
+            requireInStock(id);
+            throw new BusinessLogicException(
+                    "Недостатня кількість матеріалу з ID " + id + " для видачі " + amount
+            );
+        }
+
+        return afterQuantityAdjusted(id, MovementType.ISSUE, -amount);
+    }
+
+    /**
+     * Прийняти кількість до партії зі статусом IN_STOCK одним умовним UPDATE без читання сутності
+     */
+    @Transactional
+    public SupplyItemResponseDTO receive(Long id, int amount) {
+        log.info("Receiving {} into supply item with ID: {}", amount, id);
+
+        if (itemRepository.incrementQuantity(id, amount, LocalDateTime.now()) == 0) {
+            requireInStock(id);
+            // Статус змінився між UPDATE та перевіркою
+            throw new OptimisticLockConflictException(
+                    "Матеріал з ID " + id + " було змінено паралельно, повторіть запит"
+            );
+        }
+
+        return afterQuantityAdjusted(id, MovementType.RECEIPT, amount);
+    }
+
+    /**
+     * Причина, з якої атомарна зміна кількості не спрацювала: матеріалу немає (404)
+     * або він не на складі (400)
+     */
+    private void requireInStock(Long id) {
+        ItemStatus status = itemRepository.findStatusById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Матеріал з ID " + id + " не знайдено"));
+        if (status != ItemStatus.IN_STOCK) {
+            throw new BusinessLogicException(
+                    "Змінювати кількість можна лише для матеріалів зі статусом IN_STOCK, " +
+                    "матеріал з ID " + id + " має статус " + status
+            );
+        }
+    }
+
+    /**
+     * Перемістити кількість партії на інший склад: усю партію, частину в нову партію (newBatchNumber)
+     * або в наявну партію складу призначення (mergeIntoItemId). Місткість перевіряється умовним
+     * UPDATE заповненості складу, а не читанням; він комітиться окремою короткою транзакцією
+     * (WarehouseOccupancyService), тож рядок складу не блокується до коміту переміщення.
+     */
+    @Transactional
+    public SupplyItemTransferResultDTO transfer(Long id, SupplyItemTransferDTO dto) {
+        log.info("Transferring {} of supply item with ID: {} to warehouse ID: {}",
+                dto.getQuantity(), id, dto.getToWarehouseId());
+
+        int amount = dto.getQuantity();
+        Long mergeId = dto.getMergeIntoItemId();
+        if (id.equals(mergeId)) {
+            throw new BusinessLogicException("Партію не можна об'єднати саму з собою");
+        }
+
+        Warehouse target = warehouseReference(dto.getToWarehouseId());
+
+        // Обидві партії блокуються одним SELECT ... FOR UPDATE до кінця транзакції
+        Map<Long, ItemStockStateDTO> states = itemRepository.lockStockStates(
+                        SupplyItemSpecifications.idIn(mergeId != null ? List.of(id, mergeId) : List.of(id)))
+                .stream()
+                .collect(Collectors.toMap(ItemStockStateDTO::getId, Function.identity()));
+
+        ItemStockStateDTO source = states.get(id);
+        if (source == null) {
+            throw new ResourceNotFoundException("Матеріал з ID " + id + " не знайдено");
+        }
+        if (source.getStatus() != ItemStatus.IN_STOCK) {
+            throw new BusinessLogicException("Переміщувати можна лише матеріали зі статусом IN_STOCK");
+        }
+        if (target.getId().equals(source.getWarehouseId())) {
+            throw new BusinessLogicException(
+                    "Матеріал з ID " + id + " вже знаходиться на складі з ID " + target.getId()
+            );
+        }
+        if (source.getQuantity() < amount) {
+            throw new BusinessLogicException(
+                    "Недостатня кількість матеріалу з ID " + id + " для переміщення " + amount
+            );
+        }
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        StockAggregateService.StockSnapshot before = StockAggregateService.StockSnapshot.of(source);
+        boolean whole = amount == source.getQuantity();
+        Long targetItemId;
+
+        if (mergeId != null) {
+            ItemStockStateDTO merge = states.get(mergeId);
+            if (merge == null) {
+                throw new ResourceNotFoundException("Матеріал з ID " + mergeId + " не знайдено");
+            }
+            if (!target.getId().equals(merge.getWarehouseId()) || merge.getStatus() != ItemStatus.IN_STOCK
+                    || !merge.getCategoryId().equals(source.getCategoryId())) {
+                throw new BusinessLogicException("Партія з ID " + mergeId + " для об'єднання має бути " +
+                        "на складі призначення, зі статусом IN_STOCK і тієї ж категорії");
+            }
+            // Об'єднуються лише партії того самого матеріалу; номер партії при цьому не зберігається
+            if (!itemRepository.isSameProduct(id, mergeId)) {
+                throw new BusinessLogicException("Партія з ID " + mergeId + " для об'єднання має мати ту саму " +
+                        "назву, одиницю виміру, термін придатності та клас небезпеки");
+            }
+
+            if (whole) {
+                // Уся кількість переходить до іншої партії - вихідна партія видаляється
+                itemRepository.deleteAllByIdInBatch(List.of(id));
+                stockAggregateService.onDeleted(before);
+                stockLedgerService.onQuantityAdjusted(id, before, MovementType.TRANSFER, -amount);
+                lowStockAlertService.onChanged(id, before, null);
+                changeFeedService.onChanged(SupplyItemChangeType.DELETED, id, null);
+            } else {
+                itemRepository.decrementQuantity(id, amount, now);
+                onTransferred(id, before, -amount);
+            }
+
+            itemRepository.incrementQuantity(mergeId, amount, now);
+            onTransferred(mergeId, StockAggregateService.StockSnapshot.of(merge), amount);
+            targetItemId = mergeId;
+        } else if (whole) {
+            itemRepository.setWarehouse(List.of(id), target, now);
+
+            StockAggregateService.StockChange change = new StockAggregateService.StockChange(id, before,
+                    new StockAggregateService.StockSnapshot(target.getId(), before.categoryId(),
+                            before.status(), before.quantity()));
+            stockAggregateService.onChangedAll(List.of(change));
+            stockLedgerService.onChangedAll(List.of(change));
+            lowStockAlertService.onChanged(id, before, change.after());
+            targetItemId = id;
+        } else {
+            targetItemId = split(id, before, dto.getNewBatchNumber(), target, amount, now).getId();
+        }
+
+        // Нова партія створюється лише при переміщенні частини без об'єднання
+        boolean created = mergeId == null && !whole;
+        boolean sourceDeleted = mergeId != null && whole;
+
+        SupplyItemResponseDTO targetResponse = itemRepository.findResponseById(targetItemId).orElseThrow();
+        changeFeedService.onChanged(created ? SupplyItemChangeType.CREATED : SupplyItemChangeType.UPDATED,
+                targetItemId, targetResponse);
+
+        SupplyItemResponseDTO sourceResponse = null;
+        if (targetItemId.equals(id)) {
+            sourceResponse = targetResponse;
+        } else if (!sourceDeleted) {
+            sourceResponse = itemRepository.findResponseById(id).orElseThrow();
+            changeFeedService.onChanged(SupplyItemChangeType.UPDATED, id, sourceResponse);
+        }
+
+        occupancyService.onMoved(source.getWarehouseId(), target.getId(), amount);
+
+        log.info("Transferred {} of supply item with ID {} to warehouse ID {} (item ID {})",
+                amount, id, target.getId(), targetItemId);
+        return new SupplyItemTransferResultDTO(sourceResponse, targetResponse);
     }
 
     /**
@@ -178,31 +563,140 @@ public class SupplyItemService {
     public void delete(Long id) {
         log.info("Deleting supply item with ID: {}", id);
 
-        if (!itemRepository.existsById(id)) {
-            throw new ResourceNotFoundException(
-                    "Матеріал з ID " + id + " не знайдено"
+        SupplyItem item = itemRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Матеріал з ID " + id + " не знайдено"
+                ));
+        StockAggregateService.StockSnapshot before = StockAggregateService.StockSnapshot.of(item);
+
+        itemRepository.delete(item);
+        occupancyService.onChanged(before, null);
+        stockAggregateService.onDeleted(before);
+        stockLedgerService.onDeleted(id, before);
+        lowStockAlertService.onChanged(id, before, null);
+        changeFeedService.onChanged(SupplyItemChangeType.DELETED, id, null);
+        log.info("Supply item with ID {} deleted successfully", id);
+    }
+
+    /**
+     * Знайти матеріали з терміном що закінчується
+     */
+    @Transactional(readOnly = true)
+    public List<SupplyItemResponseDTO> findExpiringSoon(int daysThreshold, int page, int size) {
+        log.debug("Finding items expiring in {} days, page: {}, size: {}", daysThreshold, page, size);
+
+        if (daysThreshold < 0) {
+            throw new BusinessLogicException("Кількість днів не може бути від'ємною");
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessLogicException(
+                    "Некоректні параметри сторінки: номер від 0, розмір від 1 до " + MAX_PAGE_SIZE
             );
         }
 
-        itemRepository.deleteById(id);
-        log.info("Supply item with ID {} deleted successfully", id);
+        LocalDate today = LocalDate.now();
+        LocalDate thresholdDate = today.plusDays(daysThreshold);
+
+        // Вікно обмежене з обох боків, тож прострочені матеріали не читаються взагалі
+        PageRequest pageRequest = PageRequest.of(page, size,
+                Sort.by("expirationDate").and(Sort.by("id")));
+
+        return itemRepository.findResponsesByExpirationDateBetween(today, thresholdDate, pageRequest);
     }
 
     /**
-     * Знайти матеріали з терміном що закінчується
+     * Оновлення агрегатів, журналу, сповіщень та потоку змін після атомарної зміни кількості; рядок уже заблокований UPDATE-ом
      */
-    public List<SupplyItemResponseDTO> findExpiringSoon(int daysThreshold) {
-        log.debug("Finding items expiring in {} days", daysThreshold);
+    private SupplyItemResponseDTO afterQuantityAdjusted(Long id, MovementType type, int delta) {
+        SupplyItemResponseDTO updated = itemRepository.findResponseById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Матеріал з ID " + id + " не знайдено"));
+
+        StockAggregateService.StockSnapshot after = new StockAggregateService.StockSnapshot(
+                updated.getWarehouseId(), updated.getCategory().getId(), updated.getStatus(),
+                updated.getQuantity());
+        occupancyService.onQuantityChanged(after, delta);
+        stockAggregateService.onQuantityChanged(after, delta);
+        stockLedgerService.onQuantityAdjusted(id, after, type, delta);
+        lowStockAlertService.onChanged(id, new StockAggregateService.StockSnapshot(after.warehouseId(),
+                after.categoryId(), after.status(), after.quantity() - delta), after);
+        changeFeedService.onChanged(SupplyItemChangeType.UPDATED, id, updated);
+
+        log.info("Supply item with ID {} quantity adjusted by {}, now {}", id, delta, updated.getQuantity());
+        return updated;
+    }
+
+    /**
+     * Частина кількості переходить у нову партію на складі призначення
+     */
+    private SupplyItem split(Long id, StockAggregateService.StockSnapshot before, String newBatchNumber,
+                             Warehouse target, int amount, LocalDateTime now) {
+        if (newBatchNumber == null || newBatchNumber.isBlank()) {
+            throw new BusinessLogicException(
+                    "Для переміщення частини партії вкажіть номер нової партії або партію для об'єднання"
+            );
+        }
+        if (itemRepository.existsByBatchNumber(newBatchNumber)) {
+            throw new DuplicateResourceException(
+                    "Матеріал з номером партії '" + newBatchNumber + "' вже існує"
+            );
+        }
 
-        LocalDate thresholdDate = LocalDate.now().plusDays(daysThreshold);
+        itemRepository.decrementQuantity(id, amount, now);
+        onTransferred(id, before, -amount);
 
-        List<SupplyItem> expiring = itemRepository.findByExpirationDateBefore(thresholdDate);
+        // Після UPDATE сутність читається заново, тож поля копіюються з актуального рядка
+        SupplyItem source = itemRepository.findById(id).orElseThrow();
+        SupplyItem item = new SupplyItem();
+        item.setName(source.getName());
+        item.setBatchNumber(newBatchNumber);
+        item.setCategory(source.getCategory());
+        item.setQuantity(amount);
+        item.setUnit(source.getUnit());
+        item.setExpirationDate(source.getExpirationDate());
+        item.setHazardClass(source.getHazardClass());
+        item.setStorageConditions(source.getStorageConditions());
+        item.setWarehouse(target);
+        item.setStatus(ItemStatus.IN_STOCK);
+
+        SupplyItem saved = itemRepository.saveAndFlush(item);
+        StockAggregateService.StockSnapshot after = StockAggregateService.StockSnapshot.of(saved);
+        stockAggregateService.onCreated(saved);
+        stockLedgerService.onQuantityAdjusted(saved.getId(), after, MovementType.TRANSFER, amount);
+        lowStockAlertService.onChanged(saved.getId(), null, after);
+        return saved;
+    }
+
+    /**
+     * Агрегати, журнал та сповіщення після атомарної зміни кількості партії при переміщенні
+     */
+    private void onTransferred(Long id, StockAggregateService.StockSnapshot before, int delta) {
+        StockAggregateService.StockSnapshot after = new StockAggregateService.StockSnapshot(before.warehouseId(),
+                before.categoryId(), before.status(), before.quantity() + delta);
+        stockAggregateService.onQuantityChanged(after, delta);
+        stockLedgerService.onQuantityAdjusted(id, after, MovementType.TRANSFER, delta);
+        lowStockAlertService.onChanged(id, before, after);
+    }
+
+    /**
+     * Посилання на категорію після перевірки існування по кешу незмінних знімків
+     */
+    private SupplyCategory categoryReference(Long id) {
+        categoryRepository.findRefById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Категорію з ID " + id + " не знайдено"
+                ));
+        return categoryRepository.getReferenceById(id);
+    }
 
-        return expiring.stream()
-                .filter(item -> item.getExpirationDate() != null)
-                .filter(item -> item.getExpirationDate().isAfter(LocalDate.now()))
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+    /**
+     * Посилання на склад після перевірки існування по кешу незмінних знімків
+     */
+    private Warehouse warehouseReference(Long id) {
+        warehouseRepository.findRefById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Склад з ID " + id + " не знайдено"
+                ));
+        return warehouseRepository.getReferenceById(id);
     }
 
     /**
@@ -217,9 +711,103 @@ public class SupplyItemService {
     }
 
     /**
-     * Маппінг Entity -> DTO
+     * Bean Validation одного рядка масового імпорту
+     */
+    private String validateRow(SupplyItemCreateDTO dto) {
+        if (dto == null) {
+            return "Порожній рядок";
+        }
+
+        Set<ConstraintViolation<SupplyItemCreateDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Існуючі номери партій, перевірені порціями по BATCH_NUMBER_LOOKUP_SIZE
+     */
+    private Set<String> findExistingBatchNumbers(Set<String> batchNumbers) {
+        Set<String> existing = new HashSet<>();
+        List<String> all = new ArrayList<>(batchNumbers);
+
+        for (int from = 0; from < all.size(); from += BATCH_NUMBER_LOOKUP_SIZE) {
+            List<String> chunk = all.subList(from, Math.min(from + BATCH_NUMBER_LOOKUP_SIZE, all.size()));
+            existing.addAll(itemRepository.findExistingBatchNumbers(chunk));
+        }
+
+        return existing;
+    }
+
+    /**
+     * Збереження накопичених сутностей і очищення persistence context
+     */
+    private int flushPending(List<SupplyItem> pending) {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        itemRepository.saveAll(pending);
+        stockAggregateService.onCreatedAll(pending);
+        stockLedgerService.onCreatedAll(pending);
+        lowStockAlertService.onCreatedAll(pending);
+        entityManager.flush();
+        // Після flush сутності мають аудит-поля та версію
+        for (SupplyItem item : pending) {
+            changeFeedService.onChanged(SupplyItemChangeType.CREATED, item.getId(), toResponseDTO(item));
+        }
+        entityManager.clear();
+
+        int saved = pending.size();
+        pending.clear();
+        return saved;
+    }
+
+    /**
+     * Перевірка коректності діапазонів фільтра
+     */
+    static void validateFilter(SupplyItemFilterDTO filter) {
+        if (filter.getExpiresFrom() != null && filter.getExpiresTo() != null
+                && filter.getExpiresFrom().isAfter(filter.getExpiresTo())) {
+            throw new BusinessLogicException(
+                    "Початок діапазону терміну придатності не може бути пізніше кінця"
+            );
+        }
+        if (filter.getMinQuantity() != null && filter.getMaxQuantity() != null
+                && filter.getMinQuantity() > filter.getMaxQuantity()) {
+            throw new BusinessLogicException(
+                    "Мінімальна кількість не може перевищувати максимальну"
+            );
+        }
+    }
+
+    /**
+     * Маппінг CreateDTO -> Entity
+     */
+    private SupplyItem toEntity(SupplyItemCreateDTO dto, SupplyCategory category, Warehouse warehouse) {
+        SupplyItem item = new SupplyItem();
+        item.setName(dto.getName());
+        item.setBatchNumber(dto.getBatchNumber());
+        item.setCategory(category);
+        item.setQuantity(dto.getQuantity());
+        item.setUnit(dto.getUnit());
+        item.setExpirationDate(dto.getExpirationDate());
+        item.setHazardClass(dto.getHazardClass());
+        item.setStorageConditions(dto.getStorageConditions());
+        item.setWarehouse(warehouse);
+        item.setStatus(dto.getStatus());
+        return item;
+    }
+
+    /**
+     * Маппінг Entity -> DTO (package-private для JMH-бенчмарку маппінгу)
      */
-    private SupplyItemResponseDTO toResponseDTO(SupplyItem entity) {
+    static SupplyItemResponseDTO toResponseDTO(SupplyItem entity) {
         SupplyItemResponseDTO dto = new SupplyItemResponseDTO();
 
         dto.setId(entity.getId());
@@ -242,6 +830,7 @@ public class SupplyItemService {
         }
 
         dto.setStatus(entity.getStatus());
+        dto.setVersion(entity.getVersion());
         dto.setCreatedAt(entity.getCreatedAt());
         dto.setUpdatedAt(entity.getUpdatedAt());
 
@@ -251,13 +840,14 @@ public class SupplyItemService {
     /**
      * Маппінг Category Entity -> DTO
      */
-    private SupplyCategoryResponseDTO toCategoryDTO(SupplyCategory entity) {
+    private static SupplyCategoryResponseDTO toCategoryDTO(SupplyCategory entity) {
         SupplyCategoryResponseDTO dto = new SupplyCategoryResponseDTO();
         dto.setId(entity.getId());
         dto.setName(entity.getName());
         dto.setCode(entity.getCode());
         dto.setDescription(entity.getDescription());
         dto.setRequiresColdStorage(entity.getRequiresColdStorage());
+        dto.setReorderThreshold(entity.getReorderThreshold());
         dto.setCreatedAt(entity.getCreatedAt());
         dto.setUpdatedAt(entity.getUpdatedAt());
         return dto;
@@ -0,0 +1,251 @@
+package ua.edu.viti.military.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.JdbcConnectionDetails;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.edu.viti.military.dto.StatisticsGroupDTO;
+import ua.edu.viti.military.dto.WarehouseResponseDTO;
+import ua.edu.viti.military.entity.ItemStatus;
+import ua.edu.viti.military.exception.BusinessLogicException;
+import ua.edu.viti.military.repository.StockAggregateRepository;
+import ua.edu.viti.military.repository.WarehouseRepository;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Заповненість складів: сума кількості матеріалів складу у статусах, що займають місце
+ * (ItemStatus.isOnHand). Методи on* викликаються в транзакції зміни матеріалів, але рядків складів
+ * у ній не блокують: місце резервується умовним UPDATE в окремій короткій транзакції (при нестачі
+ * місткості - BusinessLogicException і відкат транзакції матеріалів), а після її відкату
+ * резерв повертається. Звільнене місце списується лише після коміту, тож до нього воно
+ * вважається зайнятим. Склади резервуються в порядку ID.
+ * Резервування та звільнення виконуються через власний невеликий пул з'єднань: потік запиту
+ * вже тримає з'єднання основного пулу, і друге з того ж пулу при його вичерпанні чекало б,
+ * доки інші запити, що теж його чекають, не звільнять свої.
+ */
+@Service
+@Slf4j
+public class WarehouseOccupancyService {
+
+    static final List<ItemStatus> OCCUPYING_STATUSES = Arrays.stream(ItemStatus.values())
+            .filter(ItemStatus::isOnHand)
+            .toList();
+
+    // Умовне резервування: не спрацьовує, якщо вільної місткості недостатньо (capacity = null - без обмеження)
+    private static final String RESERVE_SQL = "UPDATE warehouses " +
+            "SET current_occupancy = COALESCE(current_occupancy, 0) + ? " +
+            "WHERE id = ? AND (capacity IS NULL OR COALESCE(current_occupancy, 0) + ? <= capacity)";
+
+    // Без обмеження знизу: від'ємна заповненість означає розбіжність з матеріалами
+    private static final String RELEASE_SQL = "UPDATE warehouses " +
+            "SET current_occupancy = COALESCE(current_occupancy, 0) - ? " +
+            "WHERE id = ?";
+
+    private final WarehouseRepository warehouseRepository;
+    private final StockAggregateRepository aggregateRepository;
+    private final HikariDataSource occupancyDataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public WarehouseOccupancyService(WarehouseRepository warehouseRepository,
+                                     StockAggregateRepository aggregateRepository,
+                                     JdbcConnectionDetails connectionDetails,
+                                     @Value("${warehouse.occupancy.pool-size:4}") int poolSize) {
+        this.warehouseRepository = warehouseRepository;
+        this.aggregateRepository = aggregateRepository;
+
+        this.occupancyDataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(connectionDetails.getDriverClassName())
+                .url(connectionDetails.getJdbcUrl())
+                .username(connectionDetails.getUsername())
+                .password(connectionDetails.getPassword())
+                .build();
+        this.occupancyDataSource.setPoolName("warehouse-occupancy");
+        this.occupancyDataSource.setMaximumPoolSize(poolSize);
+        this.occupancyDataSource.setMinimumIdle(1);
+
+        this.jdbcTemplate = new JdbcTemplate(occupancyDataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(occupancyDataSource));
+    }
+
+    /**
+     * Матеріал змінено; before = null - створено, after = null - видалено
+     */
+    public void onChanged(StockAggregateService.StockSnapshot before, StockAggregateService.StockSnapshot after) {
+        Map<Long, Long> deltas = new TreeMap<>();
+        add(deltas, before, -1);
+        add(deltas, after, 1);
+        apply(deltas);
+    }
+
+    /**
+     * Масова зміна матеріалів (after = null - матеріал видалено)
+     */
+    public void onChangedAll(Collection<StockAggregateService.StockChange> changes) {
+        Map<Long, Long> deltas = new TreeMap<>();
+        for (StockAggregateService.StockChange change : changes) {
+            add(deltas, change.before(), -1);
+            add(deltas, change.after(), 1);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Атомарна зміна кількості матеріалу на delta; after - стан після зміни
+     */
+    public void onQuantityChanged(StockAggregateService.StockSnapshot after, int delta) {
+        Map<Long, Long> deltas = new TreeMap<>();
+        if (after.warehouseId() != null && after.status().isOnHand()) {
+            deltas.put(after.warehouseId(), (long) delta);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Переміщення amount одиниць між складами (fromWarehouseId = null - матеріал поза складом)
+     */
+    public void onMoved(Long fromWarehouseId, Long toWarehouseId, int amount) {
+        Map<Long, Long> deltas = new TreeMap<>();
+        if (fromWarehouseId != null) {
+            deltas.merge(fromWarehouseId, (long) -amount, Long::sum);
+        }
+        deltas.merge(toWarehouseId, (long) amount, Long::sum);
+        apply(deltas);
+    }
+
+    /**
+     * Зарезервувати місце без винятку при нестачі; false - місця недостатньо
+     */
+    public boolean tryReserve(Long warehouseId, long amount) {
+        if (amount <= 0) {
+            return true;
+        }
+        boolean reserved = Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                jdbcTemplate.update(RESERVE_SQL, amount, warehouseId, amount) > 0));
+        if (reserved) {
+            settle(Map.of(warehouseId, amount), Map.of());
+        }
+        return reserved;
+    }
+
+    /**
+     * Звірка заповненості з агрегатами залишків при старті (після їх початкового заповнення)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    @Transactional
+    public void synchronize() {
+        Map<Long, Long> expected = aggregateRepository.statisticsByWarehouseIn(OCCUPYING_STATUSES).stream()
+                .collect(Collectors.toMap(StatisticsGroupDTO::getId, StatisticsGroupDTO::getTotalQuantity));
+        int corrected = 0;
+
+        for (WarehouseResponseDTO warehouse : warehouseRepository.findAllResponses(null)) {
+            int occupancy = Math.toIntExact(expected.getOrDefault(warehouse.getId(), 0L));
+            if (!Objects.equals(warehouse.getCurrentOccupancy(), occupancy)) {
+                log.warn("Warehouse {} occupancy {} differs from stock {}, correcting",
+                        warehouse.getId(), warehouse.getCurrentOccupancy(), occupancy);
+                warehouseRepository.setOccupancy(warehouse.getId(), occupancy);
+                corrected++;
+            }
+        }
+
+        log.info("Warehouse occupancy synchronized with stock aggregates, {} warehouses corrected", corrected);
+    }
+
+    private void apply(Map<Long, Long> deltas) {
+        Map<Long, Long> reserved = new TreeMap<>();
+        Map<Long, Long> released = new TreeMap<>();
+        deltas.forEach((warehouseId, delta) -> {
+            if (delta > 0) {
+                reserved.put(warehouseId, delta);
+            } else if (delta < 0) {
+                released.put(warehouseId, -delta);
+            }
+        });
+
+        // Усі резерви однієї зміни - одна транзакція: при нестачі місця на будь-якому складі відкочуються всі
+        if (!reserved.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> reserved.forEach((warehouseId, amount) -> {
+                if (jdbcTemplate.update(RESERVE_SQL, amount, warehouseId, amount) == 0) {
+                    throw new BusinessLogicException(
+                            "Недостатньо вільного місця на складі з ID " + warehouseId + " для " + amount + " одиниць"
+                    );
+                }
+            }));
+        }
+        settle(reserved, released);
+    }
+
+    /**
+     * Після коміту транзакції матеріалів звільнити місце released, після відкату - повернути
+     * резерв reserved; без активної транзакції місце звільняється одразу
+     */
+    private void settle(Map<Long, Long> reserved, Map<Long, Long> released) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(released);
+            return;
+        }
+        if (reserved.isEmpty() && released.isEmpty()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    release(released);
+                } else if (status == STATUS_ROLLED_BACK) {
+                    release(reserved);
+                } else {
+                    log.warn("Unknown outcome of transaction, occupancy reserved {} released {} is left as is",
+                            reserved, released);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        occupancyDataSource.close();
+    }
+
+    // Окрема транзакція: транзакція матеріалів на цей момент уже завершена або ще не почалась
+    private void release(Map<Long, Long> amounts) {
+        if (amounts.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> amounts.forEach((warehouseId, amount) ->
+                    jdbcTemplate.update(RELEASE_SQL, amount, warehouseId)));
+        } catch (RuntimeException e) {
+            // Розбіжність виправить звірка заповненості при наступному старті
+            log.error("Failed to release warehouse occupancy {}", amounts, e);
+        }
+    }
+
+    private static void add(Map<Long, Long> deltas, StockAggregateService.StockSnapshot snapshot, int sign) {
+        if (snapshot != null && snapshot.warehouseId() != null && snapshot.status().isOnHand()) {
+            deltas.merge(snapshot.warehouseId(), (long) sign * snapshot.quantity(), Long::sum);
+        }
+    }
+}
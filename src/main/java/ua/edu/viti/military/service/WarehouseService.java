@@ -2,8 +2,10 @@ package ua.edu.viti.military.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ua.edu.viti.military.config.CacheConfig;
 import ua.edu.viti.military.dto.WarehouseCreateDTO;
 import ua.edu.viti.military.dto.WarehouseResponseDTO;
 import ua.edu.viti.military.entity.Warehouse;
@@ -12,7 +14,6 @@ import ua.edu.viti.military.exception.ResourceNotFoundException;
 import ua.edu.viti.military.repository.WarehouseRepository;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -25,6 +26,8 @@ public class WarehouseService {
      * Створити новий склад
      */
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.WAREHOUSES, CacheConfig.WAREHOUSE_CODES,
+            CacheConfig.WAREHOUSE_CODE_EXISTS}, allEntries = true)
     public WarehouseResponseDTO create(WarehouseCreateDTO dto) {
         log.info("Creating new warehouse with code: {}", dto.getCode());
 
@@ -40,7 +43,8 @@ public class WarehouseService {
         warehouse.setCode(dto.getCode());
         warehouse.setAddress(dto.getAddress());
         warehouse.setCapacity(dto.getCapacity());
-        warehouse.setCurrentOccupancy(dto.getCurrentOccupancy());
+        // Заповненість ведеться по матеріалах складу, тож новий склад порожній
+        warehouse.setCurrentOccupancy(0);
         warehouse.setHasRefrigeration(dto.getHasRefrigeration());
 
         Warehouse saved = warehouseRepository.save(warehouse);
@@ -52,40 +56,32 @@ public class WarehouseService {
     /**
      * Отримати склад по ID
      */
+    @Transactional(readOnly = true)
     public WarehouseResponseDTO getById(Long id) {
         log.debug("Fetching warehouse with ID: {}", id);
 
-        Warehouse warehouse = warehouseRepository.findById(id)
+        return warehouseRepository.findResponseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Склад з ID " + id + " не знайдено"
                 ));
-
-        return toResponseDTO(warehouse);
     }
 
     /**
-     * Отримати всі склади з фільтрацією
+     * Отримати всі склади з фільтрацією (без кешу: заповненість змінюється з кожним рухом матеріалів)
      */
+    @Transactional(readOnly = true)
     public List<WarehouseResponseDTO> getAll(Boolean hasRefrigeration) {
         log.debug("Fetching all warehouses with filter - hasRefrigeration: {}", hasRefrigeration);
 
-        List<Warehouse> warehouses;
-
-        if (hasRefrigeration != null) {
-            warehouses = warehouseRepository.findByHasRefrigeration(hasRefrigeration);
-        } else {
-            warehouses = warehouseRepository.findAll();
-        }
-
-        return warehouses.stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+        return warehouseRepository.findAllResponses(hasRefrigeration);
     }
 
     /**
      * Видалити склад
      */
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.WAREHOUSES, CacheConfig.WAREHOUSE_CODES,
+            CacheConfig.WAREHOUSE_CODE_EXISTS}, allEntries = true)
     public void delete(Long id) {
         log.info("Deleting warehouse with ID: {}", id);
 
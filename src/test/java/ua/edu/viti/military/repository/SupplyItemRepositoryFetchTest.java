@@ -0,0 +1,197 @@
+package ua.edu.viti.military.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.edu.viti.military.entity.HazardClass;
+import ua.edu.viti.military.entity.ItemStatus;
+import ua.edu.viti.military.entity.SupplyCategory;
+import ua.edu.viti.military.entity.SupplyItem;
+import ua.edu.viti.military.entity.Warehouse;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Finder-и з @EntityGraph та JOIN FETCH завантажують матеріали разом з категоріями та складами
+ * одним SQL-запитом: звернення до зв'язків після запиту не виконує додаткових SELECT (немає N+1).
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "supply.search.refresh-interval=PT1H",
+        "stock.ledger.snapshot-cron=-",
+        "stock.reconciliation.cron=-",
+        "supply.expiration.cron=-",
+        "supply.archive.cron=-",
+        "supply.purge.cron=-"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SupplyItemRepositoryFetchTest {
+
+    // Кожна категорія та кожен склад використовуються кількома матеріалами
+    private static final int CATEGORIES = 3;
+    private static final int WAREHOUSES = 3;
+    private static final int ITEMS = 12;
+    private static final LocalDate EXPIRATION_DATE = LocalDate.now().plusYears(1);
+
+    @Autowired
+    private SupplyItemRepository itemRepository;
+
+    @Autowired
+    private SupplyCategoryRepository categoryRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private SupplyItem first;
+
+    @BeforeAll
+    void seed() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        first = transactionTemplate.execute(status -> {
+            List<SupplyCategory> categories = new ArrayList<>();
+            for (int i = 1; i <= CATEGORIES; i++) {
+                SupplyCategory category = new SupplyCategory();
+                category.setName("Fetch category " + i);
+                category.setCode("FC" + i);
+                category.setRequiresColdStorage(false);
+                categories.add(categoryRepository.save(category));
+            }
+
+            List<Warehouse> warehouses = new ArrayList<>();
+            for (int i = 1; i <= WAREHOUSES; i++) {
+                Warehouse warehouse = new Warehouse();
+                warehouse.setName("Fetch warehouse " + i);
+                warehouse.setCode("FW" + i);
+                warehouse.setCurrentOccupancy(0);
+                warehouse.setHasRefrigeration(false);
+                warehouses.add(warehouseRepository.save(warehouse));
+            }
+
+            List<SupplyItem> items = new ArrayList<>();
+            for (int i = 0; i < ITEMS; i++) {
+                SupplyItem item = new SupplyItem();
+                item.setName("Fetch item " + i);
+                item.setBatchNumber("FETCH-" + i);
+                item.setCategory(categories.get(i % CATEGORIES));
+                item.setQuantity(5);
+                item.setUnit("шт");
+                item.setExpirationDate(EXPIRATION_DATE);
+                item.setHazardClass(HazardClass.NON_HAZARDOUS);
+                item.setStatus(ItemStatus.IN_STOCK);
+                // Кожен четвертий матеріал без складу - перевірка LEFT JOIN
+                item.setWarehouse(i % 4 == 3 ? null : warehouses.get(i % WAREHOUSES));
+                items.add(item);
+            }
+            return itemRepository.saveAll(items).get(0);
+        });
+    }
+
+    @AfterAll
+    void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            itemRepository.deleteAllInBatch();
+            warehouseRepository.deleteAllInBatch();
+            categoryRepository.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    void findByBatchNumberUsesSingleStatement() {
+        assertSingleStatement(() -> itemRepository.findByBatchNumber(first.getBatchNumber()), 1);
+    }
+
+    @Test
+    void findByCategoryIdUsesSingleStatement() {
+        assertSingleStatement(() -> itemRepository.findByCategoryId(first.getCategory().getId()),
+                ITEMS / CATEGORIES);
+    }
+
+    @Test
+    void findByStatusUsesSingleStatement() {
+        assertSingleStatement(() -> itemRepository.findByStatus(ItemStatus.IN_STOCK), ITEMS);
+    }
+
+    @Test
+    void findByExpirationDateBeforeUsesSingleStatement() {
+        assertSingleStatement(() -> itemRepository.findByExpirationDateBefore(EXPIRATION_DATE.plusDays(1)), ITEMS);
+    }
+
+    @Test
+    void findByWarehouseIdUsesSingleStatement() {
+        assertSingleStatement(() -> itemRepository.findByWarehouseId(first.getWarehouse().getId()), 3);
+    }
+
+    @Test
+    void findByHazardClassUsesSingleStatement() {
+        assertSingleStatement(() -> itemRepository.findByHazardClass(HazardClass.NON_HAZARDOUS), ITEMS);
+    }
+
+    @Test
+    void findByQuantityLessThanUsesSingleStatement() {
+        assertSingleStatement(() -> itemRepository.findByQuantityLessThan(10), ITEMS);
+    }
+
+    @Test
+    void findByIdWithDetailsUsesSingleStatement() {
+        assertSingleStatement(() -> itemRepository.findByIdWithDetails(first.getId()), 1);
+    }
+
+    @Test
+    void findAllWithDetailsUsesSingleStatement() {
+        assertSingleStatement(() -> itemRepository.findAllWithDetails(), ITEMS);
+    }
+
+    /**
+     * Finder виконується в новій транзакції (порожній persistence context); після нього зчитуються
+     * поля категорій та складів, і кількість підготовлених запитів має залишитись 1
+     */
+    private void assertSingleStatement(Supplier<?> finder, int expectedItems) {
+        transactionTemplate.executeWithoutResult(status -> {
+            statistics.clear();
+
+            List<SupplyItem> items = asList(finder.get());
+            for (SupplyItem item : items) {
+                assertThat(item.getCategory().getName()).isNotNull();
+                if (item.getWarehouse() != null) {
+                    assertThat(item.getWarehouse().getName()).isNotNull();
+                }
+            }
+
+            assertThat(items).hasSize(expectedItems);
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<SupplyItem> asList(Object result) {
+        if (result instanceof Optional<?> optional) {
+            return optional.map(item -> List.of((SupplyItem) item)).orElse(List.of());
+        }
+        return new ArrayList<>((Collection<SupplyItem>) result);
+    }
+}
@@ -0,0 +1,190 @@
+package ua.edu.viti.military.service;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.edu.viti.military.dto.StockAggregateDTO;
+import ua.edu.viti.military.dto.StockReconciliationDTO;
+import ua.edu.viti.military.dto.SupplyItemCreateDTO;
+import ua.edu.viti.military.dto.SupplyItemResponseDTO;
+import ua.edu.viti.military.dto.SupplyItemTransferDTO;
+import ua.edu.viti.military.dto.SupplyItemUpdateDTO;
+import ua.edu.viti.military.entity.HazardClass;
+import ua.edu.viti.military.entity.ItemStatus;
+import ua.edu.viti.military.entity.SupplyCategory;
+import ua.edu.viti.military.entity.Warehouse;
+import ua.edu.viti.military.repository.StockAggregateRepository;
+import ua.edu.viti.military.repository.StockMovementRepository;
+import ua.edu.viti.military.repository.SupplyCategoryRepository;
+import ua.edu.viti.military.repository.SupplyItemRepository;
+import ua.edu.viti.military.repository.WarehouseRepository;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Агрегати залишків, що оновлюються інкрементально при кожній зміні матеріалу, збігаються
+ * з повним перерахунком (reconcile) після створення, видачі, надходження, зміни статусу,
+ * переміщення (частини, повністю та з об'єднанням) і видалення.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "supply.search.refresh-interval=PT1H",
+        "stock.ledger.snapshot-cron=-",
+        "stock.reconciliation.cron=-",
+        "supply.expiration.cron=-",
+        "supply.archive.cron=-",
+        "supply.purge.cron=-"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StockAggregateConsistencyTest {
+
+    @Autowired
+    private SupplyItemService itemService;
+
+    @Autowired
+    private StockAggregateService aggregateService;
+
+    @Autowired
+    private SupplyItemRepository itemRepository;
+
+    @Autowired
+    private SupplyCategoryRepository categoryRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private StockAggregateRepository aggregateRepository;
+
+    @Autowired
+    private StockMovementRepository movementRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long categoryId;
+    private Long firstWarehouseId;
+    private Long secondWarehouseId;
+
+    @BeforeAll
+    void seed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            SupplyCategory category = new SupplyCategory();
+            category.setName("Aggregate category");
+            category.setCode("AC");
+            category.setRequiresColdStorage(false);
+            categoryId = categoryRepository.save(category).getId();
+
+            firstWarehouseId = warehouseRepository.save(warehouse("AW1")).getId();
+            secondWarehouseId = warehouseRepository.save(warehouse("AW2")).getId();
+        });
+    }
+
+    @AfterAll
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            itemRepository.deleteAllInBatch();
+            aggregateRepository.deleteAllInBatch();
+            movementRepository.deleteAllInBatch();
+            warehouseRepository.deleteAllInBatch();
+            categoryRepository.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    void aggregatesMatchReconciliationAfterEveryChange() {
+        SupplyItemResponseDTO first = create("AGG-1", 100, firstWarehouseId);
+        SupplyItemResponseDTO second = create("AGG-2", 40, firstWarehouseId);
+        SupplyItemResponseDTO third = create("AGG-3", 25, secondWarehouseId);
+        assertConsistent();
+        assertThat(aggregate(firstWarehouseId, ItemStatus.IN_STOCK)).isEqualTo(
+                new StockAggregateDTO(firstWarehouseId, categoryId, ItemStatus.IN_STOCK, 140L, 2L));
+
+        itemService.issue(first.getId(), 30);
+        itemService.receive(second.getId(), 10);
+        assertConsistent();
+
+        SupplyItemUpdateDTO update = new SupplyItemUpdateDTO();
+        update.setId(second.getId());
+        update.setStatus(ItemStatus.ISSUED);
+        update.setVersion(itemService.getById(second.getId()).getVersion());
+        itemService.update(update);
+        assertConsistent();
+
+        // Частина партії - нова партія на іншому складі
+        itemService.transfer(first.getId(), new SupplyItemTransferDTO(secondWarehouseId, 20, null, "AGG-1-PART"));
+        assertConsistent();
+
+        // Решта партії - з об'єднанням у партію того ж матеріалу на складі призначення
+        itemService.transfer(first.getId(), new SupplyItemTransferDTO(secondWarehouseId, 50, third.getId(), null));
+        assertConsistent();
+        assertThat(itemRepository.existsById(first.getId())).isFalse();
+
+        // Уся партія без об'єднання - переміщується сама партія
+        itemService.transfer(third.getId(), new SupplyItemTransferDTO(firstWarehouseId, 75, null, null));
+        assertConsistent();
+
+        itemService.delete(second.getId());
+        itemService.delete(third.getId());
+        assertConsistent();
+
+        assertThat(aggregate(firstWarehouseId, ItemStatus.IN_STOCK)).isNull();
+        assertThat(aggregate(firstWarehouseId, ItemStatus.ISSUED)).isNull();
+        assertThat(aggregate(secondWarehouseId, ItemStatus.IN_STOCK)).isEqualTo(
+                new StockAggregateDTO(secondWarehouseId, categoryId, ItemStatus.IN_STOCK, 20L, 1L));
+    }
+
+    /**
+     * Звірка без виправлення не знаходить розбіжностей по категорії тесту
+     */
+    private void assertConsistent() {
+        StockReconciliationDTO report = aggregateService.reconcile(false);
+        assertThat(report.getMismatches())
+                .filteredOn(mismatch -> categoryId.equals(categoryOf(mismatch.getExpected()))
+                        || categoryId.equals(categoryOf(mismatch.getActual())))
+                .isEmpty();
+        assertThat(report.isRepaired()).isFalse();
+    }
+
+    private StockAggregateDTO aggregate(Long warehouseId, ItemStatus status) {
+        return aggregateService.getAll(warehouseId, categoryId).stream()
+                .filter(aggregate -> aggregate.getStatus() == status)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static Long categoryOf(StockAggregateDTO aggregate) {
+        return aggregate == null ? null : aggregate.getCategoryId();
+    }
+
+    private SupplyItemResponseDTO create(String batchNumber, int quantity, Long warehouseId) {
+        SupplyItemCreateDTO dto = new SupplyItemCreateDTO();
+        dto.setName("Aggregate item");
+        dto.setBatchNumber(batchNumber);
+        dto.setCategoryId(categoryId);
+        dto.setQuantity(quantity);
+        dto.setUnit("шт");
+        dto.setExpirationDate(LocalDate.now().plusYears(1));
+        dto.setHazardClass(HazardClass.NON_HAZARDOUS);
+        dto.setWarehouseId(warehouseId);
+        dto.setStatus(ItemStatus.IN_STOCK);
+        return itemService.create(dto);
+    }
+
+    private static Warehouse warehouse(String code) {
+        Warehouse warehouse = new Warehouse();
+        warehouse.setName("Aggregate warehouse " + code);
+        warehouse.setCode(code);
+        warehouse.setCapacity(10_000);
+        warehouse.setCurrentOccupancy(0);
+        warehouse.setHasRefrigeration(false);
+        return warehouse;
+    }
+}
@@ -0,0 +1,218 @@
+package ua.edu.viti.military.service;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.edu.viti.military.dto.BulkUpdateResultDTO;
+import ua.edu.viti.military.dto.StockAggregateDTO;
+import ua.edu.viti.military.dto.SupplyItemBulkUpdateDTO;
+import ua.edu.viti.military.dto.SupplyItemCreateDTO;
+import ua.edu.viti.military.dto.SupplyItemFilterDTO;
+import ua.edu.viti.military.entity.HazardClass;
+import ua.edu.viti.military.entity.ItemStatus;
+import ua.edu.viti.military.entity.SupplyCategory;
+import ua.edu.viti.military.entity.Warehouse;
+import ua.edu.viti.military.exception.BusinessLogicException;
+import ua.edu.viti.military.repository.StockAggregateRepository;
+import ua.edu.viti.military.repository.StockMovementRepository;
+import ua.edu.viti.military.repository.SupplyCategoryRepository;
+import ua.edu.viti.military.repository.SupplyItemRepository;
+import ua.edu.viti.military.repository.WarehouseRepository;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Масова зміна комітить порції окремо: помилка порції зупиняє оновлення, а результат містить
+ * кількість уже збережених змін і причину зупинки. Недопустимий перехід статусу відхиляється
+ * до зміни будь-якого рядка.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "supply.search.refresh-interval=PT1H",
+        "stock.ledger.snapshot-cron=-",
+        "stock.reconciliation.cron=-",
+        "supply.expiration.cron=-",
+        "supply.archive.cron=-",
+        "supply.purge.cron=-"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SupplyItemBulkUpdateChunkTest {
+
+    private static final int ITEM_QUANTITY = 10;
+    private static final int CHUNK_SIZE = 2;
+
+    @Autowired
+    private SupplyItemBulkUpdateService bulkUpdateService;
+
+    @Autowired
+    private SupplyItemService itemService;
+
+    @Autowired
+    private StockAggregateService aggregateService;
+
+    @Autowired
+    private SupplyItemRepository itemRepository;
+
+    @Autowired
+    private SupplyCategoryRepository categoryRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private StockAggregateRepository aggregateRepository;
+
+    @Autowired
+    private StockMovementRepository movementRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long categoryId;
+    private Long sourceId;
+    private int chunkSize;
+
+    @BeforeAll
+    void seed() {
+        chunkSize = (int) ReflectionTestUtils.getField(bulkUpdateService, "chunkSize");
+        ReflectionTestUtils.setField(bulkUpdateService, "chunkSize", CHUNK_SIZE);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            SupplyCategory category = new SupplyCategory();
+            category.setName("Bulk category");
+            category.setCode("BC");
+            category.setRequiresColdStorage(false);
+            categoryId = categoryRepository.save(category).getId();
+
+            sourceId = warehouseRepository.save(warehouse("BW-SOURCE", 10_000)).getId();
+        });
+    }
+
+    @AfterAll
+    void cleanUp() {
+        ReflectionTestUtils.setField(bulkUpdateService, "chunkSize", chunkSize);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            itemRepository.deleteAllInBatch();
+            aggregateRepository.deleteAllInBatch();
+            movementRepository.deleteAllInBatch();
+            warehouseRepository.deleteAllInBatch();
+            categoryRepository.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    void failedChunkReturnsCommittedChunksAndError() {
+        // 6 матеріалів по 10 порціями по 2; на складі призначення місця на дві порції
+        Long targetId = saveWarehouse("BW-TARGET", 45);
+        for (int i = 0; i < 6; i++) {
+            create("BULK-MOVE-" + i, ItemStatus.IN_STOCK);
+        }
+
+        SupplyItemFilterDTO filter = new SupplyItemFilterDTO();
+        filter.setCategoryId(categoryId);
+        filter.setWarehouseId(sourceId);
+
+        BulkUpdateResultDTO result = bulkUpdateService.update(new SupplyItemBulkUpdateDTO(filter, null, targetId));
+
+        assertThat(result.getUpdated()).isEqualTo(4);
+        assertThat(result.getChunks()).isEqualTo(2);
+        assertThat(result.getError()).contains("Недостатньо вільного місця", String.valueOf(targetId));
+
+        // Зміни успішних порцій збережено, невдала порція відкочена повністю
+        assertThat(itemRepository.findByWarehouseId(targetId)).hasSize(4);
+        assertThat(itemRepository.findByWarehouseId(sourceId))
+                .filteredOn(item -> item.getBatchNumber().startsWith("BULK-MOVE-"))
+                .hasSize(2);
+        assertThat(occupancy(targetId)).isEqualTo(4 * ITEM_QUANTITY);
+        assertThat(aggregateService.reconcile(false).getMismatches())
+                .filteredOn(mismatch -> isTestCategory(mismatch.getExpected())
+                        || isTestCategory(mismatch.getActual()))
+                .isEmpty();
+    }
+
+    @Test
+    void invalidStatusTransitionIsRejectedBeforeAnyChunk() {
+        Long warehouseId = saveWarehouse("BW-STATUS", 10_000);
+        Long inStock = create("BULK-STATUS-1", ItemStatus.IN_STOCK, warehouseId);
+        Long issued = create("BULK-STATUS-2", ItemStatus.ISSUED, warehouseId);
+
+        SupplyItemFilterDTO filter = new SupplyItemFilterDTO();
+        filter.setWarehouseId(warehouseId);
+
+        // ISSUED не може повернутися до IN_STOCK
+        assertThatThrownBy(() -> bulkUpdateService.update(
+                new SupplyItemBulkUpdateDTO(filter, ItemStatus.IN_STOCK, null)))
+                .isInstanceOf(BusinessLogicException.class)
+                .hasMessageContaining("IN_STOCK");
+        // IN_STOCK -> EXPIRED допустимий, але весь запит відхиляється через ISSUED
+        assertThatThrownBy(() -> bulkUpdateService.update(
+                new SupplyItemBulkUpdateDTO(filter, ItemStatus.EXPIRED, null)))
+                .isInstanceOf(BusinessLogicException.class);
+        assertThat(status(inStock)).isEqualTo(ItemStatus.IN_STOCK);
+        assertThat(status(issued)).isEqualTo(ItemStatus.ISSUED);
+
+        // Списання допустиме з обох статусів
+        BulkUpdateResultDTO result = bulkUpdateService.update(
+                new SupplyItemBulkUpdateDTO(filter, ItemStatus.WRITTEN_OFF, null));
+
+        assertThat(result.getUpdated()).isEqualTo(2);
+        assertThat(result.getError()).isNull();
+        assertThat(status(inStock)).isEqualTo(ItemStatus.WRITTEN_OFF);
+        assertThat(status(issued)).isEqualTo(ItemStatus.WRITTEN_OFF);
+    }
+
+    private boolean isTestCategory(StockAggregateDTO aggregate) {
+        return aggregate != null && categoryId.equals(aggregate.getCategoryId());
+    }
+
+    private ItemStatus status(Long itemId) {
+        return itemService.getById(itemId).getStatus();
+    }
+
+    private int occupancy(Long warehouseId) {
+        return warehouseRepository.findResponseById(warehouseId).orElseThrow().getCurrentOccupancy();
+    }
+
+    private Long saveWarehouse(String code, int capacity) {
+        return new TransactionTemplate(transactionManager).execute(
+                status -> warehouseRepository.save(warehouse(code, capacity)).getId());
+    }
+
+    private Long create(String batchNumber, ItemStatus status) {
+        return create(batchNumber, status, sourceId);
+    }
+
+    private Long create(String batchNumber, ItemStatus status, Long warehouseId) {
+        SupplyItemCreateDTO dto = new SupplyItemCreateDTO();
+        dto.setName("Bulk item");
+        dto.setBatchNumber(batchNumber);
+        dto.setCategoryId(categoryId);
+        dto.setQuantity(ITEM_QUANTITY);
+        dto.setUnit("шт");
+        dto.setExpirationDate(LocalDate.now().plusYears(1));
+        dto.setHazardClass(HazardClass.NON_HAZARDOUS);
+        dto.setWarehouseId(warehouseId);
+        dto.setStatus(status);
+        return itemService.create(dto).getId();
+    }
+
+    private static Warehouse warehouse(String code, int capacity) {
+        Warehouse warehouse = new Warehouse();
+        warehouse.setName("Bulk warehouse " + code);
+        warehouse.setCode(code);
+        warehouse.setCapacity(capacity);
+        warehouse.setCurrentOccupancy(0);
+        warehouse.setHasRefrigeration(false);
+        return warehouse;
+    }
+}
@@ -0,0 +1,212 @@
+package ua.edu.viti.military.service;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+import ua.edu.viti.military.dto.SupplyItemCreateDTO;
+import ua.edu.viti.military.entity.HazardClass;
+import ua.edu.viti.military.entity.ItemStatus;
+import ua.edu.viti.military.entity.SupplyCategory;
+import ua.edu.viti.military.entity.Warehouse;
+import ua.edu.viti.military.repository.StockAggregateRepository;
+import ua.edu.viti.military.repository.StockMovementRepository;
+import ua.edu.viti.military.repository.SupplyCategoryRepository;
+import ua.edu.viti.military.repository.SupplyItemRepository;
+import ua.edu.viti.military.repository.WarehouseRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Потік змін продовжується з Last-Event-ID: клієнт отримує лише пропущені події по порядку,
+ * а якщо частина з них вже витіснена з буфера (або курсор невідомий) - подію RESET з поточним ID.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "supply.search.refresh-interval=PT1H",
+        "stock.ledger.snapshot-cron=-",
+        "stock.reconciliation.cron=-",
+        "supply.expiration.cron=-",
+        "supply.archive.cron=-",
+        "supply.purge.cron=-"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SupplyItemChangeFeedResumeTest {
+
+    private static final Pattern EVENT = Pattern.compile("id:(\\d+)\\nevent:(\\w+)\\n");
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private SupplyItemService itemService;
+
+    @Autowired
+    private SupplyItemChangeFeedService changeFeedService;
+
+    @Autowired
+    private SupplyItemRepository itemRepository;
+
+    @Autowired
+    private SupplyCategoryRepository categoryRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private StockAggregateRepository aggregateRepository;
+
+    @Autowired
+    private StockMovementRepository movementRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MockMvc mockMvc;
+    private Long categoryId;
+    private Long warehouseId;
+    private int batch;
+
+    @BeforeAll
+    void seed() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            SupplyCategory category = new SupplyCategory();
+            category.setName("Change feed category");
+            category.setCode("CF");
+            category.setRequiresColdStorage(false);
+            categoryId = categoryRepository.save(category).getId();
+
+            Warehouse warehouse = new Warehouse();
+            warehouse.setName("Change feed warehouse");
+            warehouse.setCode("CFW");
+            warehouse.setCapacity(10_000);
+            warehouse.setCurrentOccupancy(0);
+            warehouse.setHasRefrigeration(false);
+            warehouseId = warehouseRepository.save(warehouse).getId();
+        });
+    }
+
+    @AfterAll
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            itemRepository.deleteAllInBatch();
+            aggregateRepository.deleteAllInBatch();
+            movementRepository.deleteAllInBatch();
+            warehouseRepository.deleteAllInBatch();
+            categoryRepository.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    void resumeFromLastEventIdSendsOnlyMissedEvents() throws Exception {
+        MockHttpServletResponse live = subscribe(null);
+        createItems(3);
+        List<Event> received = awaitEvents(live, 3);
+        long first = received.get(0).id();
+
+        MockHttpServletResponse resumed = subscribe(first);
+
+        assertThat(awaitEvents(resumed, 2)).containsExactly(
+                new Event(first + 1, "CREATED"), new Event(first + 2, "CREATED"));
+
+        // Нові події надходять після пропущених
+        createItems(1);
+        assertThat(awaitEvents(resumed, 3)).last().isEqualTo(new Event(first + 3, "CREATED"));
+    }
+
+    @Test
+    void resumeFromEvictedEventIdSendsReset() throws Exception {
+        MockHttpServletResponse live = subscribe(null);
+        createItems(1);
+        long evicted = awaitEvents(live, 1).get(0).id();
+
+        int bufferSize = (int) ReflectionTestUtils.getField(changeFeedService, "bufferSize");
+        ReflectionTestUtils.setField(changeFeedService, "bufferSize", 2);
+        try {
+            // Подія evicted + 1 витісняється з буфера
+            createItems(3);
+            long last = awaitEvents(live, 4).get(3).id();
+
+            assertThat(awaitEvents(subscribe(evicted), 1)).containsExactly(new Event(last, "RESET"));
+        } finally {
+            ReflectionTestUtils.setField(changeFeedService, "bufferSize", bufferSize);
+        }
+    }
+
+    @Test
+    void resumeFromUnknownEventIdSendsReset() throws Exception {
+        MockHttpServletResponse live = subscribe(null);
+        createItems(1);
+        long last = awaitEvents(live, 1).get(0).id();
+
+        assertThat(awaitEvents(subscribe(last + 1_000), 1)).containsExactly(new Event(last, "RESET"));
+    }
+
+    private record Event(long id, String type) {
+    }
+
+    /**
+     * Підписатися на /api/supply-items/changes; події дописуються у відповідь асинхронно
+     */
+    private MockHttpServletResponse subscribe(Long lastEventId) throws Exception {
+        var request = get("/api/supply-items/changes");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        MvcResult result = mockMvc.perform(request).andReturn();
+        assertThat(result.getRequest().isAsyncStarted()).isTrue();
+        return result.getResponse();
+    }
+
+    private List<Event> awaitEvents(MockHttpServletResponse response, int count) {
+        return await().atMost(TIMEOUT).until(() -> events(response), events -> events.size() >= count);
+    }
+
+    private static List<Event> events(MockHttpServletResponse response) {
+        List<Event> events = new ArrayList<>();
+        Matcher matcher = EVENT.matcher(new String(response.getContentAsByteArray(), StandardCharsets.UTF_8));
+        while (matcher.find()) {
+            events.add(new Event(Long.parseLong(matcher.group(1)), matcher.group(2)));
+        }
+        return events;
+    }
+
+    private void createItems(int count) {
+        for (int i = 0; i < count; i++) {
+            SupplyItemCreateDTO dto = new SupplyItemCreateDTO();
+            dto.setName("Change feed item");
+            dto.setBatchNumber("FEED-" + batch++);
+            dto.setCategoryId(categoryId);
+            dto.setQuantity(10);
+            dto.setUnit("шт");
+            dto.setExpirationDate(LocalDate.now().plusYears(1));
+            dto.setHazardClass(HazardClass.NON_HAZARDOUS);
+            dto.setWarehouseId(warehouseId);
+            dto.setStatus(ItemStatus.IN_STOCK);
+            itemService.create(dto);
+        }
+    }
+}
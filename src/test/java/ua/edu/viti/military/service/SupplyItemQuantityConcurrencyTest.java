@@ -0,0 +1,263 @@
+package ua.edu.viti.military.service;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+import ua.edu.viti.military.dto.SupplyItemCreateDTO;
+import ua.edu.viti.military.dto.SupplyItemResponseDTO;
+import ua.edu.viti.military.dto.SupplyItemUpdateDTO;
+import ua.edu.viti.military.entity.HazardClass;
+import ua.edu.viti.military.entity.ItemStatus;
+import ua.edu.viti.military.entity.SupplyCategory;
+import ua.edu.viti.military.entity.Warehouse;
+import ua.edu.viti.military.exception.BusinessLogicException;
+import ua.edu.viti.military.exception.GlobalExceptionHandler;
+import ua.edu.viti.military.exception.OptimisticLockConflictException;
+import ua.edu.viti.military.repository.StockAggregateRepository;
+import ua.edu.viti.military.repository.StockMovementRepository;
+import ua.edu.viti.military.repository.SupplyCategoryRepository;
+import ua.edu.viti.military.repository.SupplyItemRepository;
+import ua.edu.viti.military.repository.WarehouseRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Атомарна видача (умовний UPDATE) не списує більше, ніж є, при одночасних запитах,
+ * а редагування застарілої версії завершується конфліктом 409.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "supply.search.refresh-interval=PT1H",
+        "stock.ledger.snapshot-cron=-",
+        "stock.reconciliation.cron=-",
+        "supply.expiration.cron=-",
+        "supply.archive.cron=-",
+        "supply.purge.cron=-"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SupplyItemQuantityConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int REQUESTS = 20;
+
+    @Autowired
+    private SupplyItemService itemService;
+
+    @Autowired
+    private SupplyItemRepository itemRepository;
+
+    @Autowired
+    private SupplyCategoryRepository categoryRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private StockAggregateRepository aggregateRepository;
+
+    @Autowired
+    private StockMovementRepository movementRepository;
+
+    @Autowired
+    private GlobalExceptionHandler exceptionHandler;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long categoryId;
+    private Long warehouseId;
+
+    @BeforeAll
+    void seed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            SupplyCategory category = new SupplyCategory();
+            category.setName("Quantity category");
+            category.setCode("QC");
+            category.setRequiresColdStorage(false);
+            categoryId = categoryRepository.save(category).getId();
+
+            Warehouse warehouse = new Warehouse();
+            warehouse.setName("Quantity warehouse");
+            warehouse.setCode("QW");
+            warehouse.setCapacity(10_000);
+            warehouse.setCurrentOccupancy(0);
+            warehouse.setHasRefrigeration(false);
+            warehouseId = warehouseRepository.save(warehouse).getId();
+        });
+    }
+
+    @AfterAll
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            itemRepository.deleteAllInBatch();
+            aggregateRepository.deleteAllInBatch();
+            movementRepository.deleteAllInBatch();
+            warehouseRepository.deleteAllInBatch();
+            categoryRepository.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    void concurrentIssuesNeverOverdraw() throws Exception {
+        // 20 запитів по 10 з партії в 100: рівно половина має пройти
+        SupplyItemResponseDTO item = create("QTY-ISSUE", 100);
+
+        List<Throwable> failures = runConcurrently(REQUESTS, () -> itemService.issue(item.getId(), 10));
+
+        assertThat(failures).hasSize(REQUESTS / 2)
+                .allSatisfy(failure -> assertThat(failure).isInstanceOf(BusinessLogicException.class));
+        assertThat(itemService.getById(item.getId()).getQuantity()).isZero();
+        assertThat(itemService.getById(item.getId()).getVersion()).isEqualTo(item.getVersion() + REQUESTS / 2);
+    }
+
+    @Test
+    void concurrentIssuesAndReceiptsKeepBalance() throws Exception {
+        SupplyItemResponseDTO item = create("QTY-MIXED", 50);
+
+        List<Throwable> failures = runConcurrently(REQUESTS, new Callable<>() {
+            private int request;
+
+            @Override
+            public synchronized Object call() {
+                return request++ % 2 == 0
+                        ? itemService.issue(item.getId(), 5)
+                        : itemService.receive(item.getId(), 5);
+            }
+        });
+
+        // Залишку завжди вистачає, тож кожна видача компенсується надходженням
+        assertThat(failures).isEmpty();
+        assertThat(itemService.getById(item.getId()).getQuantity()).isEqualTo(50);
+    }
+
+    @Test
+    void issueOfItemNotInStockIsRejected() {
+        SupplyItemResponseDTO item = create("QTY-ISSUED", 10, ItemStatus.ISSUED);
+
+        assertThatThrownBy(() -> itemService.issue(item.getId(), 1))
+                .isInstanceOf(BusinessLogicException.class)
+                .hasMessageContaining("IN_STOCK");
+        assertThatThrownBy(() -> itemService.receive(item.getId(), 1))
+                .isInstanceOf(BusinessLogicException.class)
+                .hasMessageContaining("IN_STOCK");
+        assertThat(itemService.getById(item.getId()).getQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    void updateOfStaleVersionIsConflict() {
+        SupplyItemResponseDTO item = create("QTY-VERSION", 10);
+        itemService.issue(item.getId(), 1);
+
+        SupplyItemUpdateDTO update = new SupplyItemUpdateDTO();
+        update.setId(item.getId());
+        update.setName("Renamed");
+        update.setVersion(item.getVersion());
+
+        assertThatThrownBy(() -> itemService.update(update))
+                .isInstanceOf(OptimisticLockConflictException.class)
+                .satisfies(e -> assertThat(conflictStatus((RuntimeException) e)).isEqualTo(HttpStatus.CONFLICT));
+        assertThat(itemService.getById(item.getId()).getName()).isEqualTo("Quantity item");
+    }
+
+    @Test
+    void concurrentUpdatesOfSameVersionConflict() throws Exception {
+        SupplyItemResponseDTO item = create("QTY-RACE", 10);
+
+        List<Throwable> failures = runConcurrently(2, new Callable<>() {
+            private int request;
+
+            @Override
+            public Object call() {
+                SupplyItemUpdateDTO update = new SupplyItemUpdateDTO();
+                update.setId(item.getId());
+                update.setQuantity(20 + nextRequest());
+                update.setVersion(item.getVersion());
+                return itemService.update(update);
+            }
+
+            private synchronized int nextRequest() {
+                return request++;
+            }
+        });
+
+        // Друге редагування бачить або нову версію, або програє на UPDATE ... WHERE version
+        assertThat(failures).singleElement()
+                .satisfies(failure -> assertThat(failure).isInstanceOfAny(
+                        OptimisticLockConflictException.class, OptimisticLockingFailureException.class))
+                .satisfies(failure -> assertThat(conflictStatus((RuntimeException) failure))
+                        .isEqualTo(HttpStatus.CONFLICT));
+        assertThat(itemService.getById(item.getId()).getVersion()).isEqualTo(item.getVersion() + 1);
+    }
+
+    private SupplyItemResponseDTO create(String batchNumber, int quantity) {
+        return create(batchNumber, quantity, ItemStatus.IN_STOCK);
+    }
+
+    private SupplyItemResponseDTO create(String batchNumber, int quantity, ItemStatus status) {
+        SupplyItemCreateDTO dto = new SupplyItemCreateDTO();
+        dto.setName("Quantity item");
+        dto.setBatchNumber(batchNumber);
+        dto.setCategoryId(categoryId);
+        dto.setQuantity(quantity);
+        dto.setUnit("шт");
+        dto.setExpirationDate(LocalDate.now().plusYears(1));
+        dto.setHazardClass(HazardClass.NON_HAZARDOUS);
+        dto.setWarehouseId(warehouseId);
+        dto.setStatus(status);
+        return itemService.create(dto);
+    }
+
+    private HttpStatus conflictStatus(RuntimeException e) {
+        return HttpStatus.valueOf(exceptionHandler.handleOptimisticLockConflict(
+                e, new ServletWebRequest(new MockHttpServletRequest())).getStatusCode().value());
+    }
+
+    /**
+     * Виконати requests викликів task з THREADS потоків, стартуючи одночасно; повертає помилки викликів
+     */
+    private static List<Throwable> runConcurrently(int requests, Callable<?> task) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(requests, THREADS));
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        List<Throwable> failures = new ArrayList<>();
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            }
+        }
+        return failures;
+    }
+}
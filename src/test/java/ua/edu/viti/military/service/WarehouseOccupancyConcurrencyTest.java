@@ -0,0 +1,181 @@
+package ua.edu.viti.military.service;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.edu.viti.military.dto.SupplyItemCreateDTO;
+import ua.edu.viti.military.dto.SupplyItemResponseDTO;
+import ua.edu.viti.military.dto.SupplyItemTransferDTO;
+import ua.edu.viti.military.entity.HazardClass;
+import ua.edu.viti.military.entity.ItemStatus;
+import ua.edu.viti.military.entity.SupplyCategory;
+import ua.edu.viti.military.entity.SupplyItem;
+import ua.edu.viti.military.entity.Warehouse;
+import ua.edu.viti.military.exception.BusinessLogicException;
+import ua.edu.viti.military.repository.StockAggregateRepository;
+import ua.edu.viti.military.repository.StockMovementRepository;
+import ua.edu.viti.military.repository.SupplyCategoryRepository;
+import ua.edu.viti.military.repository.SupplyItemRepository;
+import ua.edu.viti.military.repository.WarehouseRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Одночасні переміщення на один склад не перевищують його місткість: місце резервується
+ * умовним UPDATE, а заповненість після завершення збігається з матеріалами на складах.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "supply.search.refresh-interval=PT1H",
+        "stock.ledger.snapshot-cron=-",
+        "stock.reconciliation.cron=-",
+        "supply.expiration.cron=-",
+        "supply.archive.cron=-",
+        "supply.purge.cron=-"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class WarehouseOccupancyConcurrencyTest {
+
+    private static final int ITEMS = 10;
+    private static final int ITEM_QUANTITY = 30;
+    // Вміщує лише 3 партії з 10
+    private static final int TARGET_CAPACITY = 100;
+
+    @Autowired
+    private SupplyItemService itemService;
+
+    @Autowired
+    private SupplyItemRepository itemRepository;
+
+    @Autowired
+    private SupplyCategoryRepository categoryRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private StockAggregateRepository aggregateRepository;
+
+    @Autowired
+    private StockMovementRepository movementRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long categoryId;
+    private Long sourceId;
+    private Long targetId;
+
+    @BeforeAll
+    void seed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            SupplyCategory category = new SupplyCategory();
+            category.setName("Occupancy category");
+            category.setCode("OC");
+            category.setRequiresColdStorage(false);
+            categoryId = categoryRepository.save(category).getId();
+
+            sourceId = warehouseRepository.save(warehouse("OW-SOURCE", 10_000)).getId();
+            targetId = warehouseRepository.save(warehouse("OW-TARGET", TARGET_CAPACITY)).getId();
+        });
+    }
+
+    @AfterAll
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            itemRepository.deleteAllInBatch();
+            aggregateRepository.deleteAllInBatch();
+            movementRepository.deleteAllInBatch();
+            warehouseRepository.deleteAllInBatch();
+            categoryRepository.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    void concurrentTransfersDoNotOverbookTarget() throws Exception {
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            itemIds.add(create("OCC-" + i).getId());
+        }
+        assertThat(occupancy(sourceId)).isEqualTo(ITEMS * ITEM_QUANTITY);
+
+        ExecutorService executor = Executors.newFixedThreadPool(ITEMS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long itemId : itemIds) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return itemService.transfer(itemId, new SupplyItemTransferDTO(targetId, ITEM_QUANTITY, null, null));
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        int transferred = 0;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+                transferred++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(BusinessLogicException.class);
+            }
+        }
+
+        assertThat(transferred).isEqualTo(TARGET_CAPACITY / ITEM_QUANTITY);
+        assertThat(occupancy(sourceId)).isEqualTo((ITEMS - transferred) * ITEM_QUANTITY);
+        assertThat(occupancy(targetId)).isEqualTo(transferred * ITEM_QUANTITY);
+        assertThat(onHand(targetId)).isEqualTo(transferred * ITEM_QUANTITY);
+        assertThat(onHand(sourceId)).isEqualTo((ITEMS - transferred) * ITEM_QUANTITY);
+    }
+
+    private int occupancy(Long warehouseId) {
+        return warehouseRepository.findResponseById(warehouseId).orElseThrow().getCurrentOccupancy();
+    }
+
+    private int onHand(Long warehouseId) {
+        return itemRepository.findByWarehouseId(warehouseId).stream()
+                .filter(item -> item.getStatus().isOnHand())
+                .mapToInt(SupplyItem::getQuantity)
+                .sum();
+    }
+
+    private SupplyItemResponseDTO create(String batchNumber) {
+        SupplyItemCreateDTO dto = new SupplyItemCreateDTO();
+        dto.setName("Occupancy item");
+        dto.setBatchNumber(batchNumber);
+        dto.setCategoryId(categoryId);
+        dto.setQuantity(ITEM_QUANTITY);
+        dto.setUnit("шт");
+        dto.setExpirationDate(LocalDate.now().plusYears(1));
+        dto.setHazardClass(HazardClass.NON_HAZARDOUS);
+        dto.setWarehouseId(sourceId);
+        dto.setStatus(ItemStatus.IN_STOCK);
+        return itemService.create(dto);
+    }
+
+    private static Warehouse warehouse(String code, int capacity) {
+        Warehouse warehouse = new Warehouse();
+        warehouse.setName("Occupancy warehouse " + code);
+        warehouse.setCode(code);
+        warehouse.setCapacity(capacity);
+        warehouse.setCurrentOccupancy(0);
+        warehouse.setHasRefrigeration(false);
+        return warehouse;
+    }
+}